@@ -0,0 +1,41 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.Services.implementaions.InMemoryLoginAttemptStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LoginAttemptServiceBenchmark {
+
+    @Param({"1", "1000", "1000000"})
+    private int usernames;
+
+    private LoginAttemptService loginAttemptService;
+
+    @Setup
+    public void setUp() {
+        loginAttemptService = new LoginAttemptService(new InMemoryLoginAttemptStore(InMemoryLoginAttemptStore.DEFAULT_TRACKED_KEYS));
+    }
+
+    @Benchmark
+    public void addUserToLoginAttemptCache() {
+        loginAttemptService.addUserToLoginAttemptCache(nextUsername());
+    }
+
+    @Benchmark
+    public boolean hasExceededMaxAttempts() {
+        return loginAttemptService.hasExceededMaxAttempts(nextUsername());
+    }
+
+    private String nextUsername() {
+        return "user" + ThreadLocalRandom.current().nextInt(usernames);
+    }
+}
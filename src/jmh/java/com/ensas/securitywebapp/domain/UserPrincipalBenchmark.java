@@ -0,0 +1,33 @@
+package com.ensas.securitywebapp.domain;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static com.ensas.securitywebapp.enumeration.Role.ROLE_SUPPER_ADMIN;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPrincipalBenchmark {
+
+    private UserPrincipal userPrincipal;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setAuthorities(ROLE_SUPPER_ADMIN.getAuthorities());
+        userPrincipal = new UserPrincipal(user);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return userPrincipal.getAuthorities();
+    }
+}
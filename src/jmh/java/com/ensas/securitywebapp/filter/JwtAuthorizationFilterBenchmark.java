@@ -0,0 +1,80 @@
+package com.ensas.securitywebapp.filter;
+
+import com.ensas.securitywebapp.Services.TokenRevocationService;
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserPrincipal;
+import com.ensas.securitywebapp.utility.JWTokenProvider;
+import com.ensas.securitywebapp.utility.JWTokenProviderBenchmark;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.ensas.securitywebapp.constant.SecurityConstant.TOKEN_PREFIX;
+import static com.ensas.securitywebapp.enumeration.Role.ROLE_USER;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthorizationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private JwtAuthorizationFilter jwtAuthorizationFilter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletRequest publicImageRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JWTokenProvider jwTokenProvider = JWTokenProviderBenchmark.newJwTokenProvider(cacheEnabled);
+        jwtAuthorizationFilter = new JwtAuthorizationFilter(jwTokenProvider, new TokenRevocationService(null, 100000, 0.01),
+                new UrlBasedCorsConfigurationSource());
+
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setAuthorities(ROLE_USER.getAuthorities());
+        String token = jwTokenProvider.generateJwtToken(new UserPrincipal(user));
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/user/list");
+        authenticatedRequest.addHeader(AUTHORIZATION, TOKEN_PREFIX + " " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/user/list");
+        publicImageRequest = new MockHttpServletRequest("GET", "/user/image/benchmark/benchmark.jpg");
+        publicImageRequest.setServletPath("/user/image/benchmark/benchmark.jpg");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void authenticatedRequest() throws ServletException, IOException {
+        try {
+            jwtAuthorizationFilter.doFilter(authenticatedRequest, response, NO_OP_CHAIN);
+        } finally {
+            // the filter only authenticates an empty context; in the application the context persistence filter clears it after each request
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public void anonymousRequest() throws ServletException, IOException {
+        jwtAuthorizationFilter.doFilter(anonymousRequest, response, NO_OP_CHAIN);
+    }
+
+    @Benchmark
+    public void publicImageRequest() throws ServletException, IOException {
+        jwtAuthorizationFilter.doFilter(publicImageRequest, response, NO_OP_CHAIN);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ensas.securitywebapp.utility;
+
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.ensas.securitywebapp.constant.SecurityConstant.HMAC512_ALGORITHM;
+import static com.ensas.securitywebapp.enumeration.Role.ROLE_SUPPER_ADMIN;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTokenProviderBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    private JWTokenProvider jwTokenProvider;
+    private UserPrincipal userPrincipal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwTokenProvider = newJwTokenProvider(cacheEnabled);
+        userPrincipal = newUserPrincipal();
+        token = jwTokenProvider.generateJwtToken(userPrincipal);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwTokenProvider.generateJwtToken(userPrincipal);
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return jwTokenProvider.getSubject(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwTokenProvider.isTokenValid(userPrincipal.getUsername(), token);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> getAuthorities() {
+        return jwTokenProvider.getAuthorities(token);
+    }
+
+    public static JWTokenProvider newJwTokenProvider(boolean cacheEnabled) {
+        SigningKeyManager signingKeyManager = new SigningKeyManager(null, HMAC512_ALGORITHM, 86400000, 86400000, 600000);
+        JWTokenProvider jwTokenProvider = new JWTokenProvider(new VerifiedTokenCache(cacheEnabled, 10000), signingKeyManager);
+        ReflectionTestUtils.setField(jwTokenProvider, "secret", "benchmark-secret");
+        jwTokenProvider.init();
+        return jwTokenProvider;
+    }
+
+    static UserPrincipal newUserPrincipal() {
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setRoles(ROLE_SUPPER_ADMIN.name());
+        user.setAuthorities(ROLE_SUPPER_ADMIN.getAuthorities());
+        user.setActive(true);
+        user.setNotLocked(true);
+        return new UserPrincipal(user);
+    }
+}
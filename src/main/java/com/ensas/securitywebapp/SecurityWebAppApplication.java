@@ -1,15 +1,22 @@
 package com.ensas.securitywebapp;
 
+import com.ensas.securitywebapp.Services.PasswordHashingExecutor;
+import com.ensas.securitywebapp.utility.BoundedBCryptPasswordEncoder;
+import com.ensas.securitywebapp.utility.PasswordHashingCalibrator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.io.File;
 
 import static com.ensas.securitywebapp.constant.FileConstant.USER_FOLDER;
+import static com.ensas.securitywebapp.constant.SecurityConstant.CALIBRATED_HASHING_MODE;
 
 @SpringBootApplication
+@EnableScheduling
 public class SecurityWebAppApplication {
 
     public static void main(String[] args) {
@@ -19,7 +26,15 @@ public class SecurityWebAppApplication {
 
 
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder(){
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder bCryptPasswordEncoder(PasswordHashingExecutor passwordHashingExecutor,
+                                                       @Value("${security.password-hashing.mode:fixed}") String mode,
+                                                       @Value("${security.password-hashing.strength:10}") int strength,
+                                                       @Value("${security.password-hashing.target-latency-ms:250}") long targetLatencyMillis,
+                                                       @Value("${security.password-hashing.min-strength:10}") int minimumStrength,
+                                                       @Value("${security.password-hashing.max-strength:16}") int maximumStrength){
+        if (CALIBRATED_HASHING_MODE.equalsIgnoreCase(mode)) {
+            strength = PasswordHashingCalibrator.calibrate(targetLatencyMillis, minimumStrength, maximumStrength);
+        }
+        return new BoundedBCryptPasswordEncoder(strength, passwordHashingExecutor);
     }
 }
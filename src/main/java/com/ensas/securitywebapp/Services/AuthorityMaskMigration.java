@@ -0,0 +1,80 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.enumeration.Permission;
+import com.ensas.securitywebapp.utility.LegacyAuthoritiesConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.AUTHORITIES_MIGRATED;
+
+/**
+ * Fills user.authority_mask from the serialized String[] in user.authorities, falling back to the row's role.
+ * It runs at startup and then on a schedule, because during a rolling deploy older nodes keep inserting users without a mask.
+ * The legacy column is left untouched.
+ */
+@Service
+public class AuthorityMaskMigration {
+
+    private static final String SELECT_UNCONVERTED_ROWS_SQL = "select id, role, authorities from `user` " +
+            "where authority_mask is null order by id limit ?";
+    private static final String UPDATE_MASK_SQL = "update `user` set authority_mask = ? where id = ? and authority_mask is null";
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private JdbcTemplate jdbcTemplate;
+    private LegacyAuthoritiesConverter legacyAuthoritiesConverter = new LegacyAuthoritiesConverter();
+    private int batchSize;
+
+    // EntityManagerFactory is only injected so that Hibernate has added authority_mask before this runs
+    @Autowired
+    public AuthorityMaskMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                  @Value("${security.authority-migration.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void init() {
+        migrate();
+    }
+
+    @Scheduled(initialDelayString = "${security.authority-migration.interval:60000}",
+            fixedDelayString = "${security.authority-migration.interval:60000}")
+    public synchronized void migrate() {
+        int migrated = 0;
+        List<Map<String, Object>> rows;
+        try {
+            do {
+                rows = jdbcTemplate.queryForList(SELECT_UNCONVERTED_ROWS_SQL, batchSize);
+                List<Object[]> updates = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    String[] legacyAuthorities = legacyAuthoritiesConverter.convertToEntityAttribute((byte[]) row.get("authorities"));
+                    // every row gets a mask, so an unreadable one is converted once from its role instead of being retried
+                    int mask = Permission.toMask(User.resolveAuthorities(null, legacyAuthorities, (String) row.get("role")));
+                    updates.add(new Object[]{mask, row.get("id")});
+                }
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_MASK_SQL, updates);
+                    migrated += updates.size();
+                }
+            } while (rows.size() == batchSize);
+        } catch (DataAccessException exception) {
+            logger.error(exception.getMessage());
+        }
+        if (migrated > 0) {
+            logger.info(AUTHORITIES_MIGRATED + migrated);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class LastLoginWriteBehindService {
+
+    private static final String UPDATE_LAST_LOGIN_SQL =
+            "update `user` set last_login_date_display = ?, last_login_date = ? where id = ?";
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private JdbcTemplate jdbcTemplate;
+    private int batchSize;
+    private final Map<Integer, LoginDates> pending = new ConcurrentHashMap<>();
+    private final Map<Integer, LoginDates> inFlight = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "last-login-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public LastLoginWriteBehindService(JdbcTemplate jdbcTemplate, @Value("${security.last-login.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public Date getLastLoginDate(User user) {
+        LoginDates loginDates = find(user.getId());
+        return loginDates != null ? loginDates.lastLoginDate : user.getLastLoginDate();
+    }
+
+    public void recordLogin(User user, Date lastLoginDateDisplay, Date lastLoginDate) {
+        pending.put(user.getId(), new LoginDates(lastLoginDateDisplay, lastLoginDate));
+        user.setLastLoginDateDisplay(lastLoginDateDisplay);
+        user.setLastLoginDate(lastLoginDate);
+        if (pending.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    public User apply(User user) {
+        if (user != null) {
+            LoginDates loginDates = find(user.getId());
+            if (loginDates != null) {
+                user.setLastLoginDateDisplay(loginDates.lastLoginDateDisplay);
+                user.setLastLoginDate(loginDates.lastLoginDate);
+            }
+        }
+        return user;
+    }
+
+    public List<User> apply(List<User> users) {
+        if (!pending.isEmpty() || !inFlight.isEmpty()) {
+            users.forEach(this::apply);
+        }
+        return users;
+    }
+
+    public UserSummary applyToSummary(UserSummary userSummary) {
+        if (userSummary != null) {
+            LoginDates loginDates = find(userSummary.getId());
+            if (loginDates != null) {
+                userSummary.setLastLoginDateDisplay(loginDates.lastLoginDateDisplay);
+            }
+        }
+        return userSummary;
+    }
+
+    public List<UserSummary> applyToSummaries(List<UserSummary> userSummaries) {
+        if (!pending.isEmpty() || !inFlight.isEmpty()) {
+            userSummaries.forEach(this::applyToSummary);
+        }
+        return userSummaries;
+    }
+
+    public int getPendingCount() {
+        return pending.size() + inFlight.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.last-login.flush-interval:1000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (Integer id : pending.keySet()) {
+            LoginDates loginDates = pending.get(id);
+            if (loginDates != null) {
+                inFlight.put(id, loginDates);
+                pending.remove(id, loginDates);
+                batch.add(new Object[]{toTimestamp(loginDates.lastLoginDateDisplay), toTimestamp(loginDates.lastLoginDate), id});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, batch);
+        } catch (DataAccessException exception) {
+            logger.error(exception.getMessage());
+            inFlight.forEach(pending::putIfAbsent);
+        } finally {
+            inFlight.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        flush();
+    }
+
+    private LoginDates find(int id) {
+        LoginDates loginDates = pending.get(id);
+        return loginDates != null ? loginDates : inFlight.get(id);
+    }
+
+    private Timestamp toTimestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+
+    private static final class LoginDates {
+        private final Date lastLoginDateDisplay;
+        private final Date lastLoginDate;
+
+        private LoginDates(Date lastLoginDateDisplay, Date lastLoginDate) {
+            this.lastLoginDateDisplay = lastLoginDateDisplay;
+            this.lastLoginDate = lastLoginDate;
+        }
+    }
+}
@@ -1,53 +1,32 @@
 package com.ensas.securitywebapp.Services;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-
 import static java.util.concurrent.TimeUnit.*;
 
 @Service
 public class LoginAttemptService {
     public static int MAXIMUM_NUMBER_OF_ATTEMPTS = 5;
     public static int ATTEMPTS_INCREMENT = 1;
+    public static final long ATTEMPT_WINDOW = MINUTES.toMillis(15);
+
+    private LoginAttemptStore loginAttemptStore;
 
-    private LoadingCache<String, Integer> loginAttemptCache;
-
-    public LoginAttemptService() {
-        super();
-        loginAttemptCache = CacheBuilder.newBuilder().expireAfterWrite(15, MINUTES).maximumSize(500)
-                .build(new CacheLoader<String, Integer>() {
-                    @Override
-                    public Integer load(String s) throws Exception {
-                        return 0;
-                    }
-                });
+    @Autowired
+    public LoginAttemptService(LoginAttemptStore loginAttemptStore) {
+        this.loginAttemptStore = loginAttemptStore;
     }
 
     public void evictUserFromLoginAttemptCache(String username){
-        loginAttemptCache.invalidate(username);
+        loginAttemptStore.reset(username);
     }
 
     public void addUserToLoginAttemptCache(String username) {
-        int attempts = 0;
-        try {
-            attempts = ATTEMPTS_INCREMENT + loginAttemptCache.get(username);
-        } catch (ExecutionException e) {
-            e.printStackTrace();
-        }
-        loginAttemptCache.put(username, attempts);;
+        loginAttemptStore.recordFailure(username);
     }
 
     public boolean hasExceededMaxAttempts(String username) {
-        try {
-            return loginAttemptCache.get(username) >= MAXIMUM_NUMBER_OF_ATTEMPTS;
-        } catch (ExecutionException e) {
-            e.printStackTrace();
-        }
-        return false;
+        return loginAttemptStore.hasExceeded(username);
     }
 }
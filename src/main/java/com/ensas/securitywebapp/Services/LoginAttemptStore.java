@@ -0,0 +1,10 @@
+package com.ensas.securitywebapp.Services;
+
+public interface LoginAttemptStore {
+
+    void recordFailure(String username);
+
+    boolean hasExceeded(String username);
+
+    void reset(String username);
+}
@@ -0,0 +1,121 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.exceptions.domain.PasswordHashingRejectedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static com.ensas.securitywebapp.constant.SecurityConstant.PASSWORD_HASHING_BUSY;
+import static com.ensas.securitywebapp.constant.SecurityConstant.PASSWORD_HASHING_INTERRUPTED;
+
+@Service
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public PasswordHashingExecutor(@Value("${security.password-hashing.threads:0}") int threads,
+                                   @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waitNanos = System.nanoTime() - submittedAt;
+                totalWaitNanos.add(waitNanos);
+                maxWaitNanos.accumulate(waitNanos);
+                try {
+                    return task.get();
+                } finally {
+                    completedTasks.increment();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            rejectedTasks.increment();
+            throw new PasswordHashingRejectedException(PASSWORD_HASHING_BUSY);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException(PASSWORD_HASHING_INTERRUPTED);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Submits batch work without blocking; when the queue is full the task runs on the calling thread instead of being shed.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    completedTasks.increment();
+                }
+            }, executor);
+        } catch (RejectedExecutionException exception) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completedTasks.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedTasks.sum();
+    }
+
+    public double getAverageWaitMillis() {
+        long completed = completedTasks.sum();
+        return completed == 0 ? 0 : totalWaitNanos.sum() / 1_000_000.0 / completed;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ensas.securitywebapp.Services;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.ensas.securitywebapp.domain.RefreshTokenFamily;
+import com.ensas.securitywebapp.domain.TokenPair;
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserAuthorizationView;
+import com.ensas.securitywebapp.exceptions.domain.InvalidRefreshTokenException;
+import com.ensas.securitywebapp.repositories.RefreshTokenFamilyRepository;
+import com.ensas.securitywebapp.repositories.UserRepository;
+import com.ensas.securitywebapp.utility.JWTokenProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static com.ensas.securitywebapp.constant.SecurityConstant.*;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private UserRepository userRepository;
+    private JWTokenProvider jwTokenProvider;
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenFamilyRepository refreshTokenFamilyRepository, UserRepository userRepository, JWTokenProvider jwTokenProvider) {
+        this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+        this.userRepository = userRepository;
+        this.jwTokenProvider = jwTokenProvider;
+    }
+
+    public String createRefreshToken(String username) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        Date expiresAt = new Date(System.currentTimeMillis() + REFRESH_TOKEN_EXPIRATION_TIME);
+        refreshTokenFamilyRepository.save(new RefreshTokenFamily(familyId, username, tokenId, expiresAt));
+        return jwTokenProvider.generateRefreshToken(username, familyId, tokenId, expiresAt);
+    }
+
+    public TokenPair refresh(String refreshToken) throws InvalidRefreshTokenException {
+        DecodedJWT jwt = jwTokenProvider.verifyRefreshToken(refreshToken);
+        String familyId = jwt.getClaim(TOKEN_FAMILY).asString();
+        String newTokenId = UUID.randomUUID().toString();
+        Date now = new Date();
+        Date expiresAt = new Date(now.getTime() + REFRESH_TOKEN_EXPIRATION_TIME);
+        if (familyId == null || refreshTokenFamilyRepository.rotate(familyId, jwt.getId(), newTokenId, expiresAt, now) == 0) {
+            revokeFamily(familyId);
+            logger.warn("{}: {}", INVALID_REFRESH_TOKEN, jwt.getSubject());
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+        UserAuthorizationView user = userRepository.findAuthorizationViewByUsername(jwt.getSubject());
+        if (user == null || !user.isActive() || !user.isNotLocked()) {
+            revokeFamily(familyId);
+            throw new InvalidRefreshTokenException(INVALID_REFRESH_TOKEN);
+        }
+        String[] authorities = User.resolveAuthorities(user.getAuthorities(), user.getLegacyAuthorities(), user.getRole());
+        String accessToken = jwTokenProvider.generateJwtToken(jwt.getSubject(), authorities);
+        return new TokenPair(accessToken, jwTokenProvider.generateRefreshToken(jwt.getSubject(), familyId, newTokenId, expiresAt));
+    }
+
+    /**
+     * Revokes the refresh token's family if it belongs to username; a token that no longer verifies cannot be used anyway.
+     */
+    public void revoke(String refreshToken, String username) {
+        DecodedJWT jwt;
+        try {
+            jwt = jwTokenProvider.verifyRefreshToken(refreshToken);
+        } catch (JWTVerificationException exception) {
+            return;
+        }
+        if (username == null || !username.equals(jwt.getSubject())) {
+            logger.warn("{}: {} logged out with a refresh token of {}", INVALID_REFRESH_TOKEN, username, jwt.getSubject());
+            return;
+        }
+        revokeFamily(jwt.getClaim(TOKEN_FAMILY).asString());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval:3600000}")
+    public void purgeExpiredFamilies() {
+        refreshTokenFamilyRepository.deleteExpired(new Date());
+    }
+
+    private void revokeFamily(String familyId) {
+        if (familyId != null) {
+            refreshTokenFamilyRepository.revoke(familyId);
+        }
+    }
+}
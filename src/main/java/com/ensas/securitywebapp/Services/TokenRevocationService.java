@@ -0,0 +1,118 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.domain.RevokedToken;
+import com.ensas.securitywebapp.repositories.RevokedTokenRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocations are stored in the revoked_token table, which every node polls; the map and Bloom filter are this node's
+ * copy of the unexpired rows, so checking a token on the request path never queries the database.
+ */
+@Service
+public class TokenRevocationService {
+
+    // revocations are polled with this much overlap, so rows committed late or written by a node with a skewed clock are not missed
+    private static final long REFRESH_OVERLAP = 60_000;
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private RevokedTokenRepository revokedTokenRepository;
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final int expectedInsertions;
+    private final double falsePositiveProbability;
+    private volatile BloomFilter<CharSequence> revokedTokenFilter;
+    private volatile long lastRefreshedAt;
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+                                  @Value("${jwt.revocation.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.revokedTokenFilter = newFilter(0);
+    }
+
+    public void revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, new Date(), expiresAt));
+        cache(tokenId, expiresAt.getTime());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !revokedTokenFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokens.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshRevokedTokens();
+    }
+
+    /**
+     * Picks up tokens revoked on other nodes; the first call loads every unexpired revocation.
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.refresh-interval:5000}", fixedDelayString = "${jwt.revocation.refresh-interval:5000}")
+    public synchronized void refreshRevokedTokens() {
+        long now = System.currentTimeMillis();
+        Date revokedAfter = new Date(lastRefreshedAt == 0 ? 0 : lastRefreshedAt - REFRESH_OVERLAP);
+        try {
+            revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(revokedAfter, new Date(now))
+                    .forEach(revokedToken -> cache(revokedToken.getTokenId(), revokedToken.getExpiresAt().getTime()));
+            lastRefreshedAt = now;
+        } catch (DataAccessException exception) {
+            logger.error(exception.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:60000}")
+    public void purgeExpiredTokens() {
+        long now = System.currentTimeMillis();
+        try {
+            revokedTokenRepository.deleteByExpiresAtBefore(new Date(now));
+        } catch (DataAccessException exception) {
+            logger.error(exception.getMessage());
+        }
+        boolean purged = revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        if (!purged) {
+            return;
+        }
+        BloomFilter<CharSequence> filter = newFilter(revokedTokens.size());
+        revokedTokens.keySet().forEach(filter::put);
+        revokedTokenFilter = filter;
+        // a revoke() racing the purge may have put its id into the filter that was just replaced
+        revokedTokens.keySet().forEach(filter::put);
+    }
+
+    private void cache(String tokenId, long expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+        revokedTokenFilter.put(tokenId);
+    }
+
+    private BloomFilter<CharSequence> newFilter(int size) {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                Math.max(expectedInsertions, size * 2), falsePositiveProbability);
+    }
+}
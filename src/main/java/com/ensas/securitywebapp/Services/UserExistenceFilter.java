@@ -0,0 +1,121 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.utility.UserNames;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+@Service
+public class UserExistenceFilter {
+
+    private static final String COUNT_USERS_SQL = "select count(*) from `user`";
+    private static final String SELECT_NAMES_SQL = "select username, email from `user`";
+    // additions older than this were committed before a rebuild scan started
+    private static final long COMMIT_GRACE_PERIOD = MINUTES.toMillis(1);
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private JdbcTemplate jdbcTemplate;
+    private boolean enabled;
+    private int expectedInsertions;
+    private double falsePositiveProbability;
+    private final Map<String, Long> recentAdditions = new ConcurrentHashMap<>();
+    private volatile BloomFilter<CharSequence> knownNames;
+
+    @Autowired
+    public UserExistenceFilter(DataSource dataSource,
+                               @Value("${security.user-filter.enabled:true}") boolean enabled,
+                               @Value("${security.user-filter.expected-insertions:100000}") int expectedInsertions,
+                               @Value("${security.user-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Integer.MIN_VALUE makes the MySQL driver stream rows instead of buffering the whole table
+        this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    /**
+     * Returns false only when no user known to this node can have this username or email. Names created on other nodes are
+     * only picked up by the next rebuild, so a "no" may only skip checks that the unique indexes back up, never a lookup.
+     * Until the filter has been built every name might exist.
+     */
+    public boolean mightExist(String name) {
+        if (name == null) {
+            return false;
+        }
+        BloomFilter<CharSequence> filter = knownNames;
+        return filter == null || filter.mightContain(UserNames.normalize(name));
+    }
+
+    /**
+     * Must be called before the row holding the name is saved, so that a concurrent lookup never answers "unknown" for it.
+     */
+    public void add(String name) {
+        if (name == null) {
+            return;
+        }
+        String normalizedName = UserNames.normalize(name);
+        recentAdditions.put(normalizedName, System.currentTimeMillis());
+        BloomFilter<CharSequence> filter = knownNames;
+        if (filter != null) {
+            filter.put(normalizedName);
+        }
+    }
+
+    public boolean isReady() {
+        return knownNames != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${security.user-filter.rebuild-interval:3600000}",
+            fixedDelayString = "${security.user-filter.rebuild-interval:3600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            Long users = jdbcTemplate.queryForObject(COUNT_USERS_SQL, Long.class);
+            long names = users == null ? 0 : users * 2;
+            BloomFilter<CharSequence> filter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                    Math.max(expectedInsertions, names * 2), falsePositiveProbability);
+            jdbcTemplate.query(SELECT_NAMES_SQL, resultSet -> {
+                putIfPresent(filter, resultSet.getString(1));
+                putIfPresent(filter, resultSet.getString(2));
+            });
+            recentAdditions.keySet().forEach(filter::put);
+            knownNames = filter;
+            // an add() that ran between the first copy and the swap only reached the old filter
+            recentAdditions.keySet().forEach(filter::put);
+            recentAdditions.values().removeIf(addedAt -> addedAt < startedAt - COMMIT_GRACE_PERIOD);
+        } catch (DataAccessException exception) {
+            logger.error(exception.getMessage());
+        }
+    }
+
+    private void putIfPresent(BloomFilter<CharSequence> filter, String name) {
+        if (name != null) {
+            filter.put(UserNames.normalize(name));
+        }
+    }
+}
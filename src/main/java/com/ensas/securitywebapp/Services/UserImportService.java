@@ -0,0 +1,270 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserImportResult;
+import com.ensas.securitywebapp.domain.UserImportRow;
+import com.ensas.securitywebapp.enumeration.ImportFormat;
+import com.ensas.securitywebapp.enumeration.Permission;
+import com.ensas.securitywebapp.enumeration.Role;
+import com.ensas.securitywebapp.repositories.UserRepository;
+import com.ensas.securitywebapp.utility.BoundedBCryptPasswordEncoder;
+import com.ensas.securitywebapp.utility.LegacyAuthoritiesConverter;
+import com.ensas.securitywebapp.utility.UserImportReader;
+import com.ensas.securitywebapp.utility.UserNames;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang.RandomStringUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.*;
+import static com.ensas.securitywebapp.enumeration.Role.ROLE_USER;
+
+@Service
+public class UserImportService {
+
+    private static final String SELECT_NEXT_ID_SQL = "select next_val from " + USER_ID_SEQUENCE + " for update";
+    private static final String UPDATE_NEXT_ID_SQL = "update " + USER_ID_SEQUENCE + " set next_val = ?";
+    private static final String INSERT_USER_SQL = "insert into `user` (id, code_employee, first_name, last_name, username, password, " +
+            "email, profile_image_url, join_date, role, authority_mask, authorities, is_active, is_not_locked) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+    private BCryptPasswordEncoder passwordEncoder;
+    private UserExistenceFilter userExistenceFilter;
+    private UserLookupCache userLookupCache;
+    private UserSearchIndex userSearchIndex;
+    private ObjectMapper objectMapper;
+    private LegacyAuthoritiesConverter legacyAuthoritiesConverter = new LegacyAuthoritiesConverter();
+    private TransactionTemplate insertTransaction;
+    private TransactionTemplate idAllocationTransaction;
+    private int chunkSize;
+
+    @Autowired
+    public UserImportService(UserRepository userRepository, JdbcTemplate jdbcTemplate, BCryptPasswordEncoder passwordEncoder,
+                             UserExistenceFilter userExistenceFilter, UserLookupCache userLookupCache, UserSearchIndex userSearchIndex,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             @Value("${security.user-import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.userExistenceFilter = userExistenceFilter;
+        this.userLookupCache = userLookupCache;
+        this.userSearchIndex = userSearchIndex;
+        this.objectMapper = objectMapper;
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.idAllocationTransaction = new TransactionTemplate(transactionManager);
+        this.idAllocationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports the upload chunk by chunk and writes one NDJSON result per non-empty line to the report as each chunk completes.
+     */
+    public void importUsers(InputStream inputStream, ImportFormat format, String profileImageBaseUrl, OutputStream report) throws IOException {
+        UserImportReader reader = new UserImportReader(inputStream, format, objectMapper.reader());
+        List<UserImportReader.Entry> entries;
+        while (!(entries = reader.next(chunkSize)).isEmpty()) {
+            List<UserImportResult> results = importChunk(entries, profileImageBaseUrl);
+            results.sort(Comparator.comparingLong(UserImportResult::getLine));
+            for (UserImportResult result : results) {
+                report.write(objectMapper.writeValueAsBytes(result));
+                report.write(LINE_SEPARATOR);
+            }
+            report.flush();
+        }
+    }
+
+    private List<UserImportResult> importChunk(List<UserImportReader.Entry> entries, String profileImageBaseUrl) {
+        List<UserImportResult> results = new ArrayList<>(entries.size());
+        Map<Long, User> users = new LinkedHashMap<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (UserImportReader.Entry entry : entries) {
+            String rejection = validate(entry, usernames, emails);
+            if (rejection != null) {
+                results.add(UserImportResult.rejected(entry.getLine(), entry.getRow() == null ? null : entry.getRow().getUsername(), rejection));
+            } else {
+                users.put(entry.getLine(), newUser(entry.getRow(), profileImageBaseUrl));
+            }
+        }
+        rejectExisting(users, results);
+        if (users.isEmpty()) {
+            return results;
+        }
+        hashPasswords(users.values());
+        users.values().forEach(user -> {
+            userExistenceFilter.add(user.getUsername());
+            userExistenceFilter.add(user.getEmail());
+        });
+        insert(users, results);
+        return results;
+    }
+
+    private String validate(UserImportReader.Entry entry, Set<String> usernames, Set<String> emails) {
+        if (entry.getError() != null) {
+            return entry.getError();
+        }
+        UserImportRow row = entry.getRow();
+        if (StringUtils.isBlank(row.getFirstName()) || StringUtils.isBlank(row.getLastName())
+                || StringUtils.isBlank(row.getUsername()) || StringUtils.isBlank(row.getEmail())) {
+            return IMPORT_MISSING_FIELDS;
+        }
+        if (StringUtils.isNotBlank(row.getRole()) && toRole(row.getRole()) == null) {
+            return IMPORT_UNKNOWN_ROLE + row.getRole();
+        }
+        if (!usernames.add(UserNames.normalize(row.getUsername()))) {
+            return IMPORT_DUPLICATE_USERNAME;
+        }
+        if (!emails.add(UserNames.normalize(row.getEmail()))) {
+            return IMPORT_DUPLICATE_EMAIL;
+        }
+        return null;
+    }
+
+    // one query per column for the whole chunk, limited to the names the existence filter cannot rule out
+    private void rejectExisting(Map<Long, User> users, List<UserImportResult> results) {
+        Set<String> existingUsernames = normalizeAll(userRepository.findExistingUsernames(users.values().stream()
+                .map(User::getUsername).filter(userExistenceFilter::mightExist).collect(Collectors.toList())));
+        Set<String> existingEmails = normalizeAll(userRepository.findExistingEmails(users.values().stream()
+                .map(User::getEmail).filter(userExistenceFilter::mightExist).collect(Collectors.toList())));
+        users.entrySet().removeIf(entry -> {
+            User user = entry.getValue();
+            if (existingUsernames.contains(UserNames.normalize(user.getUsername()))) {
+                results.add(UserImportResult.rejected(entry.getKey(), user.getUsername(), USERNAME_IS_ALREADY_EXIST));
+                return true;
+            }
+            if (existingEmails.contains(UserNames.normalize(user.getEmail()))) {
+                results.add(UserImportResult.rejected(entry.getKey(), user.getUsername(), EMAIL_IS_ALREADY_EXIST));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private Set<String> normalizeAll(List<String> names) {
+        return names.stream().map(UserNames::normalize).collect(Collectors.toSet());
+    }
+
+    // at most one task per hashing thread is queued at a time, so logins keep room in the hashing queue
+    private void hashPasswords(Collection<User> users) {
+        if (!(passwordEncoder instanceof BoundedBCryptPasswordEncoder)) {
+            users.forEach(user -> user.setPassword(passwordEncoder.encode(user.getPassword())));
+            return;
+        }
+        BoundedBCryptPasswordEncoder boundedEncoder = (BoundedBCryptPasswordEncoder) passwordEncoder;
+        Iterator<User> iterator = users.iterator();
+        while (iterator.hasNext()) {
+            Map<User, CompletableFuture<String>> wave = new LinkedHashMap<>();
+            while (iterator.hasNext() && wave.size() < boundedEncoder.getParallelism()) {
+                User user = iterator.next();
+                wave.put(user, boundedEncoder.encodeAsync(user.getPassword()));
+            }
+            wave.forEach((user, hash) -> user.setPassword(hash.join()));
+        }
+    }
+
+    private void insert(Map<Long, User> users, List<UserImportResult> results) {
+        assignIds(users.values());
+        try {
+            insertTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER_SQL,
+                    users.values().stream().map(this::toParameters).collect(Collectors.toList())));
+            users.forEach((line, user) -> results.add(created(line, user)));
+        } catch (DataIntegrityViolationException exception) {
+            // a name was taken after the pre-check; retry row by row so only the conflicting rows are rejected
+            users.forEach((line, user) -> {
+                try {
+                    insertTransaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT_USER_SQL, toParameters(user)));
+                    results.add(created(line, user));
+                } catch (DataIntegrityViolationException rowException) {
+                    results.add(UserImportResult.rejected(line, user.getUsername(), toMessage(rowException)));
+                }
+            });
+        }
+    }
+
+    private UserImportResult created(long line, User user) {
+        userLookupCache.invalidate(user);
+        userSearchIndex.index(user);
+        return UserImportResult.created(line, user);
+    }
+
+    private String toMessage(DataIntegrityViolationException exception) {
+        String message = exception.getMostSpecificCause().getMessage();
+        if (StringUtils.containsIgnoreCase(message, UK_USER_USERNAME)) {
+            return USERNAME_IS_ALREADY_EXIST;
+        }
+        if (StringUtils.containsIgnoreCase(message, UK_USER_EMAIL)) {
+            return EMAIL_IS_ALREADY_EXIST;
+        }
+        logger.error(message);
+        return IMPORT_FAILED;
+    }
+
+    // reserves a block of ids from the table the User id generator allocates from, in its own short transaction
+    private void assignIds(Collection<User> users) {
+        Long firstId = idAllocationTransaction.execute(status -> {
+            Long nextId = jdbcTemplate.queryForObject(SELECT_NEXT_ID_SQL, Long.class);
+            jdbcTemplate.update(UPDATE_NEXT_ID_SQL, nextId + users.size());
+            return nextId;
+        });
+        int id = Math.toIntExact(firstId);
+        for (User user : users) {
+            user.setId(id++);
+        }
+    }
+
+    private User newUser(UserImportRow row, String profileImageBaseUrl) {
+        Role role = StringUtils.isBlank(row.getRole()) ? ROLE_USER : toRole(row.getRole());
+        User user = new User();
+        user.setCode_employee(RandomStringUtils.randomNumeric(10));
+        user.setFirstName(row.getFirstName().trim());
+        user.setLastName(row.getLastName().trim());
+        user.setUsername(row.getUsername().trim());
+        user.setEmail(row.getEmail().trim());
+        // the generated password is never reported; imported users get theirs through the reset password flow
+        user.setPassword(RandomStringUtils.randomAlphanumeric(10));
+        user.setJoinDate(new Date());
+        user.setActive(row.getActive() == null || row.getActive());
+        user.setNotLocked(row.getNotLocked() == null || row.getNotLocked());
+        user.setRoles(role.name());
+        user.setAuthorities(role.getAuthorities());
+        user.setProfileImageUrl(profileImageBaseUrl + user.getUsername());
+        return user;
+    }
+
+    private Object[] toParameters(User user) {
+        return new Object[]{user.getId(), user.getCode_employee(), user.getFirstName(), user.getLastName(), user.getUsername(),
+                user.getPassword(), user.getEmail(), user.getProfileImageUrl(), new Timestamp(user.getJoinDate().getTime()),
+                user.getRoles(), Permission.toMask(user.getAuthorities()), legacyAuthoritiesConverter.convertToDatabaseColumn(user.getAuthorities()),
+                user.isActive(), user.isNotLocked()};
+    }
+
+    private Role toRole(String role) {
+        try {
+            return Role.valueOf(role.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+}
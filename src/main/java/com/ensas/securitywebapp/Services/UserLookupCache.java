@@ -0,0 +1,143 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.repositories.UserRepository;
+import com.ensas.securitywebapp.utility.UserNames;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Caches users found by username or email. Misses are not cached, so a name registered on another node is found at once;
+ * other nodes' changes to a cached user show up after time-to-live, which is why the login path reads the database directly.
+ */
+@Service
+public class UserLookupCache {
+
+    private LoadingCache<String, User> usersByUsername;
+    private LoadingCache<String, User> usersByEmail;
+
+    @Autowired
+    public UserLookupCache(UserRepository userRepository,
+                           @Value("${security.user-cache.maximum-size:10000}") long maximumSize,
+                           @Value("${security.user-cache.time-to-live:60000}") long timeToLive) {
+        this.usersByUsername = newCache(maximumSize, timeToLive, userRepository::findUserByUsername);
+        this.usersByEmail = newCache(maximumSize, timeToLive, userRepository::findUserByEmail);
+    }
+
+    /**
+     * Returns a copy without the password hash that the caller may modify, or null; it must not be saved back.
+     * Concurrent misses for the same name share a single query.
+     */
+    public User findUserByUsername(String username) {
+        return username == null ? null : get(usersByUsername, username);
+    }
+
+    public User findUserByEmail(String email) {
+        return email == null ? null : get(usersByEmail, email);
+    }
+
+    /**
+     * Replaces the cached snapshot after a write this node made itself, so the next lookup does not need a query.
+     */
+    public void put(User user) {
+        User snapshot = copyOf(user);
+        if (user.getUsername() != null) {
+            usersByUsername.put(UserNames.normalize(user.getUsername()), snapshot);
+        }
+        if (user.getEmail() != null) {
+            usersByEmail.put(UserNames.normalize(user.getEmail()), snapshot);
+        }
+    }
+
+    public void invalidate(User user) {
+        if (user != null) {
+            invalidate(user.getUsername(), user.getEmail());
+        }
+    }
+
+    public void invalidate(String username, String email) {
+        evict(username, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a reader may reload the old row before the writing transaction commits, so evict again afterwards
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(username, email);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        usersByUsername.invalidateAll();
+        usersByEmail.invalidateAll();
+    }
+
+    public CacheStats getUsernameStats() {
+        return usersByUsername.stats();
+    }
+
+    public CacheStats getEmailStats() {
+        return usersByEmail.stats();
+    }
+
+    public long size() {
+        return usersByUsername.size() + usersByEmail.size();
+    }
+
+    private void evict(String username, String email) {
+        if (username != null) {
+            usersByUsername.invalidate(UserNames.normalize(username));
+        }
+        if (email != null) {
+            usersByEmail.invalidate(UserNames.normalize(email));
+        }
+    }
+
+    private User get(LoadingCache<String, User> cache, String name) {
+        try {
+            return copyOf(cache.getUnchecked(UserNames.normalize(name)));
+        } catch (InvalidCacheLoadException notFound) {
+            // the loader returned null, which Guava does not cache
+            return null;
+        } catch (UncheckedExecutionException exception) {
+            throwIfUnchecked(exception.getCause());
+            throw exception;
+        }
+    }
+
+    private LoadingCache<String, User> newCache(long maximumSize, long timeToLive, Function<String, User> loader) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive, MILLISECONDS)
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .recordStats()
+                .build(CacheLoader.from(name -> {
+                    User user = loader.apply(name);
+                    return user == null ? null : copyOf(user);
+                }));
+    }
+
+    // cached users are detached snapshots without the password hash, which only the login path reads, from the database;
+    // callers get their own copy so they can change it
+    private User copyOf(User user) {
+        return new User(user.getId(), user.getCode_employee(), user.getFirstName(), user.getLastName(), user.getUsername(),
+                null, user.getEmail(), user.getProfileImageUrl(), user.getLastLoginDate(),
+                user.getLastLoginDateDisplay(), user.getJoinDate(), user.getRoles(), user.getAuthorities(),
+                user.isActive(), user.isNotLocked());
+    }
+}
@@ -0,0 +1,244 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserSummary;
+import com.ensas.securitywebapp.repositories.UserRepository;
+import com.ensas.securitywebapp.utility.UserNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.SEARCH_INDEX_BUILT;
+
+/**
+ * Type-ahead index over username, first name, last name, email and employee code.
+ * Every field is indexed whole and split into words; a query matches when each of its words is a prefix of an indexed token.
+ * Changes made on this node apply after commit; changes made on other nodes appear at the next scheduled rebuild.
+ */
+@Service
+public class UserSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // bounds the work of a query whose later words filter out most candidates of the first one
+    private static final int MAXIMUM_SCANNED_CANDIDATES = 10_000;
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private UserRepository userRepository;
+    private final Object buildLock = new Object();
+    private volatile Index index = new Index();
+    // local changes made while a rebuild scans the table, replayed over the scanned rows; guarded by this
+    private Map<Integer, Optional<UserSummary>> changedDuringBuild;
+
+    @Autowired
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Builds a fresh index from the table and swaps it in, which also picks up users created, changed or deleted on other nodes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${security.user-search.rebuild-interval:300000}",
+            fixedDelayString = "${security.user-search.rebuild-interval:300000}")
+    @Transactional(readOnly = true)
+    public void build() {
+        synchronized (buildLock) {
+            synchronized (this) {
+                changedDuringBuild = new HashMap<>();
+            }
+            try {
+                Index rebuilt = new Index();
+                try (Stream<UserSummary> userSummaries = userRepository.streamAllSummaries()) {
+                    userSummaries.forEach(rebuilt::put);
+                }
+                synchronized (this) {
+                    changedDuringBuild.forEach((id, userSummary) -> {
+                        if (userSummary.isPresent()) {
+                            rebuilt.put(userSummary.get());
+                        } else {
+                            rebuilt.delete(id);
+                        }
+                    });
+                    index = rebuilt;
+                }
+            } finally {
+                synchronized (this) {
+                    changedDuringBuild = null;
+                }
+            }
+            logger.info(SEARCH_INDEX_BUILT + index.usersById.size());
+        }
+    }
+
+    public List<UserSummary> search(String query, int limit) {
+        String[] words = query == null ? new String[0] : WORD_SEPARATOR.split(UserNames.normalize(query));
+        words = Arrays.stream(words).filter(word -> !word.isEmpty()).distinct().toArray(String[]::new);
+        if (words.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(words, Comparator.comparingInt(String::length).reversed());
+        Index index = this.index;
+        // the longest word has the narrowest prefix range, so it drives the scan and the others only filter
+        Set<Integer> seen = new HashSet<>();
+        List<UserSummary> matches = new ArrayList<>(limit);
+        int scanned = 0;
+        for (Set<Integer> ids : index.prefixRange(words[0]).values()) {
+            for (Integer id : ids) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+                IndexedUser indexedUser = index.usersById.get(id);
+                if (indexedUser != null && indexedUser.matchesAll(words)) {
+                    matches.add(indexedUser.summary);
+                    if (matches.size() == limit) {
+                        return matches;
+                    }
+                }
+                if (++scanned == MAXIMUM_SCANNED_CANDIDATES) {
+                    return matches;
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return index.usersById.size();
+    }
+
+    /**
+     * Indexes the user as it is now once the surrounding transaction commits, so rolled back changes are never searchable.
+     */
+    public void index(User user) {
+        UserSummary userSummary = UserSummary.of(user);
+        afterCommit(() -> put(userSummary));
+    }
+
+    public void remove(int id) {
+        afterCommit(() -> delete(id));
+    }
+
+    private synchronized void put(UserSummary userSummary) {
+        if (changedDuringBuild != null) {
+            changedDuringBuild.put(userSummary.getId(), Optional.of(userSummary));
+        }
+        index.put(userSummary);
+    }
+
+    private synchronized void delete(int id) {
+        if (changedDuringBuild != null) {
+            changedDuringBuild.put(id, Optional.empty());
+        }
+        index.delete(id);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Set<String> tokenize(String... values) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null || value.trim().isEmpty()) {
+                continue;
+            }
+            String normalizedValue = UserNames.normalize(value);
+            tokens.add(normalizedValue);
+            for (String word : WORD_SEPARATOR.split(normalizedValue)) {
+                if (!word.isEmpty()) {
+                    tokens.add(word);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Index {
+        private final ConcurrentSkipListMap<String, Set<Integer>> idsByToken = new ConcurrentSkipListMap<>();
+        private final Map<Integer, IndexedUser> usersById = new ConcurrentHashMap<>();
+
+        private void put(UserSummary userSummary) {
+            IndexedUser indexedUser = new IndexedUser(userSummary);
+            IndexedUser previous = usersById.put(userSummary.getId(), indexedUser);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String token : indexedUser.tokens) {
+                idsByToken.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(userSummary.getId());
+            }
+        }
+
+        private void delete(int id) {
+            IndexedUser previous = usersById.remove(id);
+            if (previous != null) {
+                unlink(previous);
+            }
+        }
+
+        private void unlink(IndexedUser indexedUser) {
+            int id = indexedUser.summary.getId();
+            for (String token : indexedUser.tokens) {
+                idsByToken.computeIfPresent(token, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        private ConcurrentNavigableMap<String, Set<Integer>> prefixRange(String prefix) {
+            return idsByToken.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+    }
+
+    private static final class IndexedUser {
+        private final UserSummary summary;
+        private final String[] tokens;
+
+        private IndexedUser(UserSummary summary) {
+            this.summary = summary;
+            this.tokens = tokenize(summary.getUsername(), summary.getFirstName(), summary.getLastName(),
+                    summary.getEmail(), summary.getCode_employee()).toArray(new String[0]);
+        }
+
+        private boolean matchesAll(String[] words) {
+            for (String word : words) {
+                if (!matches(word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(String word) {
+            for (String token : tokens) {
+                if (token.startsWith(word)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ensas.securitywebapp.Services;
 
 import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserSummary;
 import com.ensas.securitywebapp.exceptions.domain.EmailExistException;
 import com.ensas.securitywebapp.exceptions.domain.EmailNotFoundException;
 import com.ensas.securitywebapp.exceptions.domain.UserExistExistException;
@@ -11,10 +12,15 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.mail.MessagingException;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     User register(String firstName, String lastName, String username, String email) throws UserNotFoundException, UserExistExistException, EmailExistException, MessagingException;
     List<User> getUsers();
+    List<UserSummary> getUserSummaries(int afterId, int size);
+    void forEachUserSummary(Consumer<UserSummary> action);
+    UserSummary findUserSummaryByUsername(String username);
+    List<UserSummary> searchUsers(String query, int limit);
     User findUserByUsername(String username);
     User findUserByEmail(String email);
     User addNewUser(String firstName, String lastName, String username, String email, String role, boolean isNonLocked, boolean isActive, MultipartFile file) throws UserNotFoundException, UserExistExistException, EmailExistException, IOException;
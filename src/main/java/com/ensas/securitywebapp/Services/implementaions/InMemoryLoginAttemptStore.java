@@ -0,0 +1,37 @@
+package com.ensas.securitywebapp.Services.implementaions;
+
+import com.ensas.securitywebapp.Services.LoginAttemptStore;
+import com.ensas.securitywebapp.utility.SlidingWindowAttemptTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import static com.ensas.securitywebapp.Services.LoginAttemptService.ATTEMPT_WINDOW;
+import static com.ensas.securitywebapp.Services.LoginAttemptService.MAXIMUM_NUMBER_OF_ATTEMPTS;
+
+@Service
+@ConditionalOnProperty(name = "security.login-attempts.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+    public static final int DEFAULT_TRACKED_KEYS = 1 << 20;
+
+    private SlidingWindowAttemptTracker loginAttemptTracker;
+
+    public InMemoryLoginAttemptStore(@Value("${security.login-attempts.tracked-keys:" + DEFAULT_TRACKED_KEYS + "}") int trackedKeys) {
+        loginAttemptTracker = new SlidingWindowAttemptTracker(trackedKeys, MAXIMUM_NUMBER_OF_ATTEMPTS, ATTEMPT_WINDOW);
+    }
+
+    @Override
+    public void recordFailure(String username) {
+        loginAttemptTracker.recordFailure(username);
+    }
+
+    @Override
+    public boolean hasExceeded(String username) {
+        return loginAttemptTracker.hasExceeded(username);
+    }
+
+    @Override
+    public void reset(String username) {
+        loginAttemptTracker.reset(username);
+    }
+}
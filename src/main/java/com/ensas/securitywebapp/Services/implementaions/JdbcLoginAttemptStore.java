@@ -0,0 +1,161 @@
+package com.ensas.securitywebapp.Services.implementaions;
+
+import com.ensas.securitywebapp.Services.LoginAttemptStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ensas.securitywebapp.Services.LoginAttemptService.ATTEMPT_WINDOW;
+import static com.ensas.securitywebapp.Services.LoginAttemptService.MAXIMUM_NUMBER_OF_ATTEMPTS;
+
+@Service
+@ConditionalOnProperty(name = "security.login-attempts.store", havingValue = "jdbc")
+public class JdbcLoginAttemptStore implements LoginAttemptStore {
+
+    // failures are assigned before window_start so both conditions still see the stored window
+    private static final String UPSERT_ATTEMPTS_SQL =
+            "insert into login_attempt (username, failures, window_start) values (?, ?, ?) " +
+            "on duplicate key update " +
+            "failures = if(? or window_start < ?, values(failures), failures + values(failures)), " +
+            "window_start = if(? or window_start < ?, values(window_start), window_start)";
+    private static final String DELETE_ATTEMPTS_SQL = "delete from login_attempt where username = ?";
+    private static final String SELECT_LOCKED_SQL =
+            "select username from login_attempt where window_start >= ? and failures >= ?";
+    private static final String DELETE_EXPIRED_SQL = "delete from login_attempt where window_start < ?";
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private JdbcTemplate jdbcTemplate;
+    private final Map<String, PendingAttempts> pending = new ConcurrentHashMap<>();
+    private final Map<String, PendingAttempts> inFlight = new ConcurrentHashMap<>();
+    private volatile Set<String> lockedUsernames = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public JdbcLoginAttemptStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void recordFailure(String username) {
+        long now = System.currentTimeMillis();
+        pending.merge(username, PendingAttempts.failure(now), PendingAttempts::plus);
+    }
+
+    @Override
+    public boolean hasExceeded(String username) {
+        if (lockedUsernames.contains(username)) {
+            return true;
+        }
+        // failures this node has not flushed yet are not visible in the shared table
+        int failures = localFailures(pending.get(username)) + localFailures(inFlight.get(username));
+        return failures >= MAXIMUM_NUMBER_OF_ATTEMPTS;
+    }
+
+    @Override
+    public void reset(String username) {
+        pending.put(username, PendingAttempts.RESET);
+        lockedUsernames.remove(username);
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-attempts.flush-interval:500}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Timestamp windowCutoff = new Timestamp(System.currentTimeMillis() - ATTEMPT_WINDOW);
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (String username : pending.keySet()) {
+            PendingAttempts attempts = pending.remove(username);
+            if (attempts == null) {
+                continue;
+            }
+            inFlight.put(username, attempts);
+            if (attempts.failures == 0) {
+                deletes.add(new Object[]{username});
+            } else {
+                upserts.add(new Object[]{username, attempts.failures, new Timestamp(attempts.firstFailureAt),
+                        attempts.reset, windowCutoff, attempts.reset, windowCutoff});
+            }
+        }
+        try {
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_ATTEMPTS_SQL, deletes);
+            }
+            if (!upserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_ATTEMPTS_SQL, upserts);
+            }
+        } catch (DataAccessException exception) {
+            logger.error(exception.getMessage());
+            inFlight.forEach((username, attempts) -> pending.merge(username, attempts, (newer, older) -> older.plus(newer)));
+        } finally {
+            inFlight.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-attempts.refresh-interval:1000}")
+    public void refreshLockedUsernames() {
+        Timestamp windowCutoff = new Timestamp(System.currentTimeMillis() - ATTEMPT_WINDOW);
+        try {
+            Set<String> locked = ConcurrentHashMap.newKeySet();
+            jdbcTemplate.query(SELECT_LOCKED_SQL, resultSet -> {
+                locked.add(resultSet.getString(1));
+            }, windowCutoff, MAXIMUM_NUMBER_OF_ATTEMPTS);
+            lockedUsernames = locked;
+        } catch (DataAccessException exception) {
+            logger.error(exception.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-attempts.purge-interval:600000}")
+    public void purgeExpiredAttempts() {
+        jdbcTemplate.update(DELETE_EXPIRED_SQL, new Timestamp(System.currentTimeMillis() - ATTEMPT_WINDOW));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private int localFailures(PendingAttempts attempts) {
+        return attempts == null ? 0 : attempts.failures;
+    }
+
+    private static final class PendingAttempts {
+        private static final PendingAttempts RESET = new PendingAttempts(0, 0L, true);
+
+        private final int failures;
+        private final long firstFailureAt;
+        private final boolean reset;
+
+        private PendingAttempts(int failures, long firstFailureAt, boolean reset) {
+            this.failures = failures;
+            this.firstFailureAt = firstFailureAt;
+            this.reset = reset;
+        }
+
+        private static PendingAttempts failure(long failedAt) {
+            return new PendingAttempts(1, failedAt, false);
+        }
+
+        private PendingAttempts plus(PendingAttempts newer) {
+            if (newer.reset) {
+                return newer;
+            }
+            long firstFailureAt = failures == 0 ? newer.firstFailureAt : this.firstFailureAt;
+            return new PendingAttempts(failures + newer.failures, firstFailureAt, reset || newer.reset);
+        }
+    }
+}
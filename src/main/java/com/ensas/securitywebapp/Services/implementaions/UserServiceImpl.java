@@ -1,23 +1,33 @@
 package com.ensas.securitywebapp.Services.implementaions;
 
 import com.ensas.securitywebapp.Services.EmailService;
+import com.ensas.securitywebapp.Services.LastLoginWriteBehindService;
 import com.ensas.securitywebapp.Services.LoginAttemptService;
+import com.ensas.securitywebapp.Services.UserExistenceFilter;
+import com.ensas.securitywebapp.Services.UserLookupCache;
+import com.ensas.securitywebapp.Services.UserSearchIndex;
 import com.ensas.securitywebapp.Services.UserService;
 import com.ensas.securitywebapp.domain.User;
 import com.ensas.securitywebapp.domain.UserPrincipal;
+import com.ensas.securitywebapp.domain.UserSummary;
 import com.ensas.securitywebapp.enumeration.Role;
 import com.ensas.securitywebapp.exceptions.domain.EmailExistException;
 import com.ensas.securitywebapp.exceptions.domain.EmailNotFoundException;
 import com.ensas.securitywebapp.exceptions.domain.UserExistExistException;
 import com.ensas.securitywebapp.exceptions.domain.UserNotFoundException;
 import com.ensas.securitywebapp.repositories.UserRepository;
+import com.ensas.securitywebapp.utility.UserNames;
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.lang.StringUtils;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -27,13 +37,19 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.mail.MessagingException;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static com.ensas.securitywebapp.constant.FileConstant.*;
 import static com.ensas.securitywebapp.constant.UserImplementationConstant.*;
@@ -43,52 +59,83 @@ import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 @Service
 @Transactional
 @Qualifier("UserDetailsService")
-public class UserServiceImpl implements UserService, UserDetailsService {
+public class UserServiceImpl implements UserService, UserDetailsService, UserDetailsPasswordService {
 
     private Logger logger = LoggerFactory.getLogger(getClass());
     private UserRepository userRepository;
     private BCryptPasswordEncoder passwordEncoder;
     private LoginAttemptService loginAttemptService;
     private EmailService emailService;
+    private LastLoginWriteBehindService lastLoginWriteBehindService;
+    private UserExistenceFilter userExistenceFilter;
+    private UserLookupCache userLookupCache;
+    private UserSearchIndex userSearchIndex;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, LoginAttemptService loginAttemptService, EmailService emailService) {
+    public UserServiceImpl(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, LoginAttemptService loginAttemptService, EmailService emailService,
+                           LastLoginWriteBehindService lastLoginWriteBehindService, UserExistenceFilter userExistenceFilter,
+                           UserLookupCache userLookupCache, UserSearchIndex userSearchIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder; 
         this.loginAttemptService = loginAttemptService;
         this.emailService = emailService;
+        this.lastLoginWriteBehindService = lastLoginWriteBehindService;
+        this.userExistenceFilter = userExistenceFilter;
+        this.userLookupCache = userLookupCache;
+        this.userSearchIndex = userSearchIndex;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // credentials and lock state are read from the database, never from a cache another node cannot invalidate
         User user = userRepository.findUserByUsername(username);
         if(user == null){
             logger.error(NO_USER_FOUND_BY_USERNAME + username);
             throw new UsernameNotFoundException(NO_USER_FOUND_BY_USERNAME + username);
         }else {
-            validateLoginAttempt(user);
-            user.setLastLoginDateDisplay(user.getLastLoginDate());
-            user.setLastLoginDate(new Date());
-            userRepository.save(user);
+            // lock state and last login are written by their own statements; a managed entity would add a full-row update
+            entityManager.detach(user);
+            boolean notLocked = validateLoginAttempt(user);
+            if(notLocked != user.isNotLocked()){
+                userRepository.updateNotLocked(user.getId(), notLocked);
+                user.setNotLocked(notLocked);
+                userSearchIndex.index(user);
+            }
+            lastLoginWriteBehindService.recordLogin(user, lastLoginWriteBehindService.getLastLoginDate(user), new Date());
+            userLookupCache.put(user);
             UserPrincipal userPrincipal = new UserPrincipal(user);
             logger.info("Returning found by username :" + username);
             return  userPrincipal;
         }
     }
 
-    private void validateLoginAttempt(User user) {
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.updatePassword(userDetails.getUsername(), newPassword);
+        if(userDetails instanceof UserPrincipal){
+            User user = ((UserPrincipal) userDetails).getUser();
+            user.setPassword(newPassword);
+            userLookupCache.invalidate(user);
+        }else {
+            userLookupCache.invalidate(userDetails.getUsername(), null);
+        }
+        logger.info(PASSWORD_REHASHED + userDetails.getUsername());
+        return userDetails;
+    }
+
+    private boolean validateLoginAttempt(User user) {
         if(user.isNotLocked()){
-            if(loginAttemptService.hasExceededMaxAttempts(user.getUsername())){
-                user.setNotLocked(false);
-            }else {
-                user.setNotLocked(true);
-            }
+            return !loginAttemptService.hasExceededMaxAttempts(user.getUsername());
         }else {
             loginAttemptService.evictUserFromLoginAttemptCache(user.getUsername());
+            return false;
         }
     }
 
     @Override
+    @Transactional(rollbackFor = {UserExistExistException.class, EmailExistException.class})
     public User register(String firstName, String lastName, String username, String email) throws UserNotFoundException, UserExistExistException, EmailExistException, MessagingException {
         validateNewUsernameAndEmail(StringUtils.EMPTY, username, email);
         User user = new User();
@@ -105,9 +152,12 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         user.setRoles(ROLE_USER.name());
         user.setAuthorities(ROLE_USER.getAuthorities());
         user.setProfileImageUrl(getTemporaryProfileImageUrl(username));
-        emailService.sendNewPasswordEmail(firstName, password, email);
+        addKnownNames(user);
+        saveUser(user);
+        userLookupCache.invalidate(user);
+        userSearchIndex.index(user);
         logger.info("New user password: " + password);
-        this.userRepository.save(user);
+        emailService.sendNewPasswordEmail(firstName, password, email);
         return user;
     }
 
@@ -115,21 +165,52 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getUsers() {
-        return this.userRepository.findAll();
+        return lastLoginWriteBehindService.apply(this.userRepository.findAll());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserSummary> getUserSummaries(int afterId, int size) {
+        return lastLoginWriteBehindService.applyToSummaries(this.userRepository.findSummaryPageAfter(afterId, PageRequest.of(0, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachUserSummary(Consumer<UserSummary> action) {
+        // constructor projections are not managed, so the persistence context stays empty however many rows are read
+        try (Stream<UserSummary> userSummaries = this.userRepository.streamAllSummaries()) {
+            userSummaries.forEach(userSummary -> action.accept(lastLoginWriteBehindService.applyToSummary(userSummary)));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserSummary findUserSummaryByUsername(String username) {
+        User user = findUserByUsername(username);
+        return user == null ? null : UserSummary.of(user);
+    }
+
+    @Override
+    public List<UserSummary> searchUsers(String query, int limit) {
+        return userSearchIndex.search(query, limit);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User findUserByUsername(String username) {
-        return this.userRepository.findUserByUsername(username);
+        return lastLoginWriteBehindService.apply(findByUsername(username));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User findUserByEmail(String email) {
-        return this.userRepository.findUserByEmail(email);
+        return lastLoginWriteBehindService.apply(findByEmail(email));
     }
 
     @Override
+    @Transactional(rollbackFor = {UserExistExistException.class, EmailExistException.class})
     public User addNewUser(String firstName, String lastName, String username, String email, String role, boolean isNonLocked, boolean isActive, MultipartFile file) throws UserNotFoundException, UserExistExistException, EmailExistException, IOException {
         validateNewUsernameAndEmail(StringUtils.EMPTY, username, email);
         User user = new User();
@@ -148,14 +229,19 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         user.setProfileImageUrl(getTemporaryProfileImageUrl(username));
         //emailService.sendNewPasswordEmail(firstName, password, email);
         logger.info("New user password: " + password);
+        addKnownNames(user);
         saveProfileImage(user, file);
-        this.userRepository.save(user);
+        saveUser(user);
+        userLookupCache.invalidate(user);
+        userSearchIndex.index(user);
         return user;
     }
 
     @Override
+    @Transactional(rollbackFor = {UserExistExistException.class, EmailExistException.class})
     public User updateUser(String currentUsername, String newFirstName, String newLastName, String newUsername, String newEmail, String role, boolean isNonLocked, boolean isActive, MultipartFile file) throws UserNotFoundException, UserExistExistException, EmailExistException, IOException {
         User user = validateNewUsernameAndEmail(currentUsername, newUsername, newEmail);
+        userLookupCache.invalidate(user);
         user.setFirstName(newFirstName);
         user.setLastName(newLastName);
         user.setUsername(newUsername);
@@ -164,25 +250,32 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         user.setNotLocked(isNonLocked);
         user.setRoles(getRoleEnumName(role).name());
         user.setAuthorities(getRoleEnumName(role).getAuthorities());
+        addKnownNames(user);
         saveProfileImage(user, file);
-        this.userRepository.save(user);
+        saveUser(user);
+        userLookupCache.invalidate(user);
+        userSearchIndex.index(user);
         return user;
     }
 
     @Override
     public void deleteUser(int id) {
+    userRepository.findById(id).ifPresent(userLookupCache::invalidate);
     userRepository.deleteById(id);
+    userSearchIndex.remove(id);
     }
 
     @Override
     public void resetPassword(String email) throws EmailNotFoundException, MessagingException {
-        User user  = userRepository.findUserByEmail(email);
+        // the whole row is saved back, so it is read from the database rather than a possibly stale cached copy
+        User user  = lastLoginWriteBehindService.apply(userRepository.findUserByEmail(email));
         if(user == null){
             throw new EmailNotFoundException(NO_USER_FOUND_BY_EMAIL + email);
         }
         String password = generatePassword();
         user.setPassword(encodePassword(password));
         userRepository.save(user);
+        userLookupCache.invalidate(user);
         emailService.sendNewPasswordEmail(user.getFirstName(), password, email);
     }
 
@@ -190,6 +283,8 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     public User updateProfileImage(String username, MultipartFile file) throws UserNotFoundException, UserExistExistException, EmailExistException, IOException {
         User user = validateNewUsernameAndEmail(username, null, null);
         saveProfileImage(user, file);
+        userLookupCache.invalidate(user);
+        userSearchIndex.index(user);
         return user;
     }
 
@@ -233,20 +328,39 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     }
 
 
-    private User validateNewUsernameAndEmail(String currentUsername, String username, String  email) throws UserNotFoundException, UserExistExistException, EmailExistException {
+    private User findByUsername(String username) {
+        return userLookupCache.findUserByUsername(username);
+    }
+
+    private User findByEmail(String email) {
+        return userLookupCache.findUserByEmail(email);
+    }
 
-        User userByUsername = findUserByUsername(username);
-        User userByEmail = findUserByEmail(email);
+    private void addKnownNames(User user) {
+        userExistenceFilter.add(user.getUsername());
+        userExistenceFilter.add(user.getEmail());
+    }
 
-        if(StringUtils.isNotBlank(currentUsername)){
-            User currentUser = findUserByUsername(currentUsername);
+    private User validateNewUsernameAndEmail(String currentUsername, String username, String  email) throws UserNotFoundException, UserExistExistException, EmailExistException {
+        boolean update = StringUtils.isNotBlank(currentUsername);
+        // the filter only knows names added on this node since its last rebuild, so a "no" is trusted only where the
+        // unique indexes still reject a duplicate: new users. An update must always find the current user.
+        List<User> candidates = update || mightExist(username, email)
+                ? userRepository.findUniquenessCandidates(update ? currentUsername : null, username, email)
+                : Collections.emptyList();
+
+        User userByUsername = findCandidate(candidates, User::getUsername, username);
+        User userByEmail = findCandidate(candidates, User::getEmail, email);
+
+        if(update){
+            User currentUser = lastLoginWriteBehindService.apply(findCandidate(candidates, User::getUsername, currentUsername));
             if(currentUser == null){
                 throw new UserNotFoundException(NO_USER_FOUND_BY_USERNAME +  currentUsername);
             }
-            if(userByUsername != null && !(currentUser.getId() + "").equals(userByUsername.getId())){
+            if(userByUsername != null && currentUser.getId() != userByUsername.getId()){
                 throw new UserExistExistException(USERNAME_IS_ALREADY_EXIST);
             }
-            if(userByEmail != null && !(currentUser.getId() + "").equals(userByEmail.getId())){
+            if(userByEmail != null && currentUser.getId() != userByEmail.getId()){
                 throw new EmailExistException(EMAIL_IS_ALREADY_EXIST);
             }
             return currentUser;
@@ -261,4 +375,49 @@ public class UserServiceImpl implements UserService, UserDetailsService {
             return null;
         }
     }
+
+    private boolean mightExist(String username, String email) {
+        return userExistenceFilter.mightExist(username) || userExistenceFilter.mightExist(email);
+    }
+
+    // the database compares names case- and accent-insensitively, so the candidates are matched the same way
+    private User findCandidate(List<User> candidates, Function<User, String> attribute, String name) {
+        if(name == null){
+            return null;
+        }
+        String normalizedName = UserNames.normalize(name);
+        for (User candidate : candidates) {
+            String value = attribute.apply(candidate);
+            if(value != null && UserNames.normalize(value).equals(normalizedName)){
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // the unique indexes are the real guard: a concurrent insert that passed the pre-check is reported the same way
+    private void saveUser(User user) throws UserExistExistException, EmailExistException {
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException exception) {
+            String constraintName = getConstraintName(exception);
+            if(StringUtils.containsIgnoreCase(constraintName, UK_USER_USERNAME)){
+                throw new UserExistExistException(USERNAME_IS_ALREADY_EXIST);
+            }
+            if(StringUtils.containsIgnoreCase(constraintName, UK_USER_EMAIL)){
+                throw new EmailExistException(EMAIL_IS_ALREADY_EXIST);
+            }
+            throw exception;
+        }
+    }
+
+    private String getConstraintName(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if(cause instanceof ConstraintViolationException){
+                String constraintName = ((ConstraintViolationException) cause).getConstraintName();
+                return constraintName != null ? constraintName : cause.getMessage();
+            }
+        }
+        return exception.getMostSpecificCause().getMessage();
+    }
 }
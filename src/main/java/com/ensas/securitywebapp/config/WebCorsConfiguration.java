@@ -0,0 +1,31 @@
+package com.ensas.securitywebapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.ensas.securitywebapp.constant.SecurityConstant.*;
+
+@Configuration
+public class WebCorsConfiguration {
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource(@Value("${cors.allowed-origins:http://localhost:4200}") List<String> allowedOrigins) {
+        CorsConfiguration corsConfiguration = new CorsConfiguration();
+        corsConfiguration.setAllowCredentials(true);
+        corsConfiguration.setAllowedOrigins(allowedOrigins);
+        corsConfiguration.setAllowedMethods(Arrays.asList(CORS_ALLOWED_METHODS));
+        corsConfiguration.setAllowedHeaders(Arrays.asList(CORS_ALLOWED_HEADERS));
+        corsConfiguration.setExposedHeaders(Arrays.asList(CORS_EXPOSED_HEADERS));
+        corsConfiguration.setMaxAge(CORS_MAX_AGE);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration);
+        return source;
+    }
+}
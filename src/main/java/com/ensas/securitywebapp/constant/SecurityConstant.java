@@ -1,16 +1,51 @@
 package com.ensas.securitywebapp.constant;
 
 public class SecurityConstant {
-    public static final long EXPIRATION_TIME =  1 * 24 * 60 * 60 * 1000;
+    public static final long EXPIRATION_TIME =  15 * 60 * 1000;
+    public static final long REFRESH_TOKEN_EXPIRATION_TIME =  7 * 24 * 60 * 60 * 1000;
     public static final String TOKEN_PREFIX = "Bearer";
     public static final String JWT_TOKEN_HEADER = "Jwt-Token";
+    public static final String REFRESH_TOKEN_HEADER = "Refresh-Token";
+    public static final String NEXT_AFTER_ID_HEADER = "Next-After-Id";
+    public static final String TOKEN_TYPE = "token_type";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    public static final String TOKEN_FAMILY = "family";
+    public static final String REFRESH_TOKEN_NOT_ACCEPTED = "Refresh token cannot be used as an access token";
+    public static final String INVALID_REFRESH_TOKEN = "Refresh token is invalid or has been revoked";
     public static final String TOKEN_CANNOT_BE_VERIFIED = "Token cannot be verified";
     public static final String GET_ARRAYS_LLC = "Get Arrays, LLC";
     public static final String GET_ARRAYS_ADMINISTRATION = "USER Management Portal";
     public static final String AUTHORITIES = "Authorities";
+    public static final String PERMISSIONS = "perm";
+    public static final String UNKNOWN_PERMISSIONS = "Token carries unknown permissions";
     public static final String FORBIDDEN_MESSAGE = "You need to log in to access this page";
     public static final String ACCESS_DENIED_MESSAGE = "You do not have permission to access to this page";
     public static final String OPTIONS_HTTP_METHOD = "OPTIONS";
-    public static final String[] PUBLIC_URLS = {"/user/login", "/user/register", "/user/resetpassword/**","/user/image/**"};
+    public static final String HMAC512_ALGORITHM = "HMAC512";
+    public static final String ES256_ALGORITHM = "ES256";
+    public static final String EC_KEY_ALGORITHM = "EC";
+    public static final String EC_CURVE = "secp256r1";
+    public static final String JWK_EC_CURVE = "P-256";
+    public static final String SIGNING_KEY_GENERATED = "Generated new token signing key: ";
+    public static final String SIGNING_KEY_CANNOT_BE_LOADED = "Token signing key cannot be loaded";
+    public static final String JWKS_URL = "/.well-known/jwks.json";
+    public static final long JWKS_CACHE_MAX_AGE = 5 * 60;
+    public static final String PASSWORD_HASHING_BUSY = "The server is busy. Please try again shortly";
+    public static final String PASSWORD_HASHING_INTERRUPTED = "Password hashing was interrupted";
+    public static final long PASSWORD_HASHING_RETRY_AFTER = 1;
+    public static final String CALIBRATED_HASHING_MODE = "calibrated";
+    public static final long CORS_MAX_AGE = 60 * 60;
+    public static final String[] CORS_ALLOWED_METHODS = {"GET", "POST", "PUT", "DELETE", "OPTIONS"};
+    public static final String[] CORS_ALLOWED_HEADERS = {"Origin", "Access-Control-Allow-Origin", "Content-Type", "Accept", "Authorization", "X-Requested-With", JWT_TOKEN_HEADER, REFRESH_TOKEN_HEADER};
+    public static final String[] CORS_EXPOSED_HEADERS = {"Access-Control-Allow-Origin", "Authorization", JWT_TOKEN_HEADER, REFRESH_TOKEN_HEADER, NEXT_AFTER_ID_HEADER, "Content-Disposition"};
+    public static final String TOO_MANY_REQUESTS_MESSAGE = "Too many requests. Please slow down and try again later";
+    public static final String LOGIN_ROUTE = "login";
+    public static final String REGISTER_ROUTE = "register";
+    public static final String RESET_PASSWORD_ROUTE = "reset-password";
+    public static final String LOGIN_URL = "/user/login";
+    public static final String REGISTER_URL = "/user/register";
+    public static final String RESET_PASSWORD_URL = "/user/resetPassword/**";
+    public static final String[] STATIC_URLS = {"/user/image/**"};
+    public static final String[] PUBLIC_URLS = {"/user/login", "/user/register", "/user/resetPassword/**","/user/image/**", "/user/token/refresh", JWKS_URL};
     //public static final String[] PUBLIC_URLS = {"**"};
 }
@@ -5,4 +5,29 @@ public class UserImplementationConstant {
     public static final String EMAIL_IS_ALREADY_EXIST = "The email is already exist";
     public static final String NO_USER_FOUND_BY_USERNAME = "No user found by username ";
     public static final String NO_USER_FOUND_BY_EMAIL = "No user found for email: ";
+    public static final String USER_TABLE = "user";
+    public static final String UK_USER_USERNAME = "uk_user_username";
+    public static final String UK_USER_EMAIL = "uk_user_email";
+    public static final String USER_ID_GENERATOR = "user_id_generator";
+    public static final String USER_ID_SEQUENCE = "hibernate_sequence";
+    public static final String USER_ID_ALLOCATION_SIZE = "50";
+    public static final String AUTHORITY_MASK_COLUMN = "authority_mask";
+    public static final String LEGACY_AUTHORITIES_COLUMN = "authorities";
+    public static final String AUTHORITIES_MIGRATED = "Converted legacy authorities to permission masks, users: ";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAXIMUM_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 10;
+    public static final int MAXIMUM_SEARCH_LIMIT = 50;
+    public static final String SEARCH_INDEX_BUILT = "User search index built, users: ";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String IMPORT_LINE_CANNOT_BE_PARSED = "The line cannot be parsed: ";
+    public static final String IMPORT_MISSING_FIELDS = "firstName, lastName, username and email are required";
+    public static final String IMPORT_UNKNOWN_ROLE = "Unknown role: ";
+    public static final String IMPORT_DUPLICATE_USERNAME = "The username appears more than once in the import";
+    public static final String IMPORT_DUPLICATE_EMAIL = "The email appears more than once in the import";
+    public static final String IMPORT_FAILED = "The user could not be saved";
+    public static final String EXPORT_UNKNOWN_FORMAT = "Unknown export format: ";
+    public static final String EXPORT_UNKNOWN_COLUMN = "Unknown export column: ";
+    public static final String EXPORT_FILE_NAME = "users";
+    public static final String PASSWORD_REHASHED = "Rehashed password with current parameters for user: ";
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.ensas.securitywebapp.domain;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+@Entity
+@Table(name = "login_attempt", indexes = @Index(name = "idx_login_attempt_window_start", columnList = "window_start"))
+public class LoginAttempt implements Serializable {
+    @Id
+    @Column(nullable = false, updatable = false)
+    private String username;
+    @Column(nullable = false)
+    private int failures;
+    @Column(name = "window_start", nullable = false)
+    private Date windowStart;
+
+    public LoginAttempt() {
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    public void setFailures(int failures) {
+        this.failures = failures;
+    }
+
+    public Date getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(Date windowStart) {
+        this.windowStart = windowStart;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ensas.securitywebapp.domain;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+@Entity
+@Table(name = "refresh_token_family")
+public class RefreshTokenFamily implements Serializable {
+    @Id
+    @Column(nullable = false, updatable = false, length = 36)
+    private String familyId;
+    private String username;
+    @Column(length = 36)
+    private String currentTokenId;
+    private Date expiresAt;
+    private boolean revoked;
+
+    public RefreshTokenFamily() {
+    }
+
+    public RefreshTokenFamily(String familyId, String username, String currentTokenId, Date expiresAt) {
+        this.familyId = familyId;
+        this.username = username;
+        this.currentTokenId = currentTokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getCurrentTokenId() {
+        return currentTokenId;
+    }
+
+    public void setCurrentTokenId(String currentTokenId) {
+        this.currentTokenId = currentTokenId;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isRevoked() {
+        return revoked;
+    }
+
+    public void setRevoked(boolean revoked) {
+        this.revoked = revoked;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ensas.securitywebapp.domain;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Date;
+
+@Entity
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_revoked_at", columnList = "revokedAt"))
+public class RevokedToken implements Serializable {
+    @Id
+    @Column(nullable = false, updatable = false, length = 36)
+    private String tokenId;
+    private Date revokedAt;
+    private Date expiresAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenId, Date revokedAt, Date expiresAt) {
+        this.tokenId = tokenId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public Date getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Date revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,19 +1,42 @@
 package com.ensas.securitywebapp.domain;
 
+import com.ensas.securitywebapp.enumeration.Permission;
+import com.ensas.securitywebapp.enumeration.Role;
+import com.ensas.securitywebapp.utility.LegacyAuthoritiesConverter;
+import com.ensas.securitywebapp.utility.PermissionMaskConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 import java.io.Serializable;
 import java.util.Date;
+import java.util.Locale;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.*;
 
 @Entity
+@Table(name = USER_TABLE, uniqueConstraints = {
+        @UniqueConstraint(name = UK_USER_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = UK_USER_EMAIL, columnNames = "email")})
 public class User implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // pooled-lo reserves USER_ID_ALLOCATION_SIZE ids per round trip to hibernate_sequence; the stored value stays the next free id,
+    // so rows written under the old increment of 1 and the bulk import allocate from the same range without overlapping
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = USER_ID_GENERATOR)
+    @GenericGenerator(name = USER_ID_GENERATOR, strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = USER_ID_SEQUENCE),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = USER_ID_ALLOCATION_SIZE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")})
     @Column(nullable = false, updatable = false )
     private int id;
     private String  code_employee;
     private String firstName;
     private String lastName;
     private String username;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String email;
     private String profileImageUrl;
@@ -22,7 +45,15 @@ public class User implements Serializable {
     private Date joinDate;
     // for spring security.
     private String role;
+    // stored as a Permission bitmask instead of a serialized String[]
+    @Convert(converter = PermissionMaskConverter.class)
+    @Column(name = AUTHORITY_MASK_COLUMN)
     private String[] authorities;
+    // the serialized String[] read by builds before the mask, written alongside it so those builds can still be rolled back to
+    @JsonIgnore
+    @Convert(converter = LegacyAuthoritiesConverter.class)
+    @Column(name = LEGACY_AUTHORITIES_COLUMN)
+    private String[] legacyAuthorities;
     private boolean isActive;
     private boolean isNotLocked;
 
@@ -42,6 +73,7 @@ public class User implements Serializable {
         this.joinDate = joinDate;
         this.role = role;
         this.authorities = authorities;
+        this.legacyAuthorities = authorities;
         this.isActive = isActive;
         this.isNotLocked = isNotLocked;
     }
@@ -60,6 +92,7 @@ public class User implements Serializable {
         this.joinDate = joinDate;
         this.role = role;
         this.authorities = authorities;
+        this.legacyAuthorities = authorities;
         this.isActive = isActive;
         this.isNotLocked = isNotLocked;
     }
@@ -166,6 +199,39 @@ public class User implements Serializable {
 
     public void setAuthorities(String[] authorities) {
         this.authorities = authorities;
+        this.legacyAuthorities = authorities;
+    }
+
+    // rows written by an older build during a rolling deploy have no mask yet; the next write of the entity stores it
+    @PostLoad
+    void fillMissingAuthorities() {
+        if (authorities == null) {
+            authorities = resolveAuthorities(null, legacyAuthorities, role);
+        }
+        if (legacyAuthorities == null) {
+            legacyAuthorities = authorities;
+        }
+    }
+
+    /**
+     * Returns the mask's authorities, else the legacy array's, else the role's; never null.
+     */
+    public static String[] resolveAuthorities(String[] authorities, String[] legacyAuthorities, String role) {
+        if (authorities != null) {
+            return authorities;
+        }
+        if (legacyAuthorities != null) {
+            try {
+                return Permission.toAuthorities(Permission.toMask(legacyAuthorities));
+            } catch (IllegalArgumentException unknownAuthority) {
+                // fall back to the role
+            }
+        }
+        try {
+            return role == null ? new String[0] : Role.valueOf(role.toUpperCase(Locale.ROOT)).getAuthorities();
+        } catch (IllegalArgumentException unknownRole) {
+            return new String[0];
+        }
     }
 
     public boolean isActive() {
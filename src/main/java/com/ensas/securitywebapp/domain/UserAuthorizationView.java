@@ -0,0 +1,9 @@
+package com.ensas.securitywebapp.domain;
+
+public interface UserAuthorizationView {
+    String[] getAuthorities();
+    String[] getLegacyAuthorities();
+    String getRole();
+    boolean isActive();
+    boolean isNotLocked();
+}
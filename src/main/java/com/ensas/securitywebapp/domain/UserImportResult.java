@@ -0,0 +1,51 @@
+package com.ensas.securitywebapp.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private long line;
+    private String username;
+    private String status;
+    private String message;
+    private Integer id;
+
+    public UserImportResult(long line, String username, String status, String message, Integer id) {
+        this.line = line;
+        this.username = username;
+        this.status = status;
+        this.message = message;
+        this.id = id;
+    }
+
+    public static UserImportResult created(long line, User user) {
+        return new UserImportResult(line, user.getUsername(), CREATED, null, user.getId());
+    }
+
+    public static UserImportResult rejected(long line, String username, String message) {
+        return new UserImportResult(line, username, REJECTED, message, null);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
@@ -1,13 +1,10 @@
 package com.ensas.securitywebapp.domain;
 
+import com.ensas.securitywebapp.utility.GrantedAuthorities;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
-
-import static java.util.Arrays.stream;
 
 public class UserPrincipal implements UserDetails {
     private User user;
@@ -16,9 +13,18 @@ public class UserPrincipal implements UserDetails {
         this.user = user;
     }
 
+    public User getUser() {
+        return this.user;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return stream(this.user.getAuthorities()).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+        return GrantedAuthorities.of(this.user.getAuthorities());
+    }
+
+    public String[] getAuthorityClaims() {
+        String[] authorities = this.user.getAuthorities();
+        return authorities != null ? authorities : new String[0];
     }
 
 
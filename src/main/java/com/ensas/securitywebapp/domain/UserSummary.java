@@ -0,0 +1,94 @@
+package com.ensas.securitywebapp.domain;
+
+import java.util.Date;
+
+public class UserSummary {
+    private int id;
+    private String codeEmployee;
+    private String firstName;
+    private String lastName;
+    private String username;
+    private String email;
+    private String profileImageUrl;
+    private String role;
+    private Date joinDate;
+    private Date lastLoginDateDisplay;
+    private boolean isActive;
+    private boolean isNotLocked;
+
+    public UserSummary(int id, String codeEmployee, String firstName, String lastName, String username, String email, String profileImageUrl,
+                       String role, Date joinDate, Date lastLoginDateDisplay, boolean isActive, boolean isNotLocked) {
+        this.id = id;
+        this.codeEmployee = codeEmployee;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.username = username;
+        this.email = email;
+        this.profileImageUrl = profileImageUrl;
+        this.role = role;
+        this.joinDate = joinDate;
+        this.lastLoginDateDisplay = lastLoginDateDisplay;
+        this.isActive = isActive;
+        this.isNotLocked = isNotLocked;
+    }
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getCode_employee(), user.getFirstName(), user.getLastName(), user.getUsername(), user.getEmail(),
+                user.getProfileImageUrl(), user.getRoles(), user.getJoinDate(), user.getLastLoginDateDisplay(),
+                user.isActive(), user.isNotLocked());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // same JSON name as User.getCode_employee()
+    public String getCode_employee() {
+        return codeEmployee;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getProfileImageUrl() {
+        return profileImageUrl;
+    }
+
+    // same JSON name as User.getRoles()
+    public String getRoles() {
+        return role;
+    }
+
+    public Date getJoinDate() {
+        return joinDate;
+    }
+
+    public Date getLastLoginDateDisplay() {
+        return lastLoginDateDisplay;
+    }
+
+    public void setLastLoginDateDisplay(Date lastLoginDateDisplay) {
+        this.lastLoginDateDisplay = lastLoginDateDisplay;
+    }
+
+    public boolean isActive() {
+        return isActive;
+    }
+
+    public boolean isNotLocked() {
+        return isNotLocked;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ensas.securitywebapp.domain;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+
+public final class VerifiedToken {
+    private final String id;
+    private final String subject;
+    private final Date expiresAt;
+    private final List<GrantedAuthority> authorities;
+
+    public VerifiedToken(String id, String subject, Date expiresAt, List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.subject = subject;
+        this.expiresAt = new Date(expiresAt.getTime());
+        this.authorities = authorities;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getExpiresAt() {
+        return new Date(expiresAt.getTime());
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean isExpired() {
+        return expiresAt.getTime() <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ensas.securitywebapp.enumeration;
+
+import com.ensas.securitywebapp.exceptions.domain.InvalidExportRequestException;
+
+import java.util.Locale;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.EXPORT_UNKNOWN_FORMAT;
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.TEXT_CSV_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+public enum ExportFormat {
+    NDJSON(APPLICATION_NDJSON_VALUE, ".ndjson"),
+    CSV(TEXT_CSV_VALUE, ".csv");
+
+    private String contentType;
+    private String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat fromName(String name) throws InvalidExportRequestException {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidExportRequestException(EXPORT_UNKNOWN_FORMAT + name);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ensas.securitywebapp.enumeration;
+
+import org.springframework.http.MediaType;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.TEXT_CSV_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).includes(mediaType)) {
+            return CSV;
+        }
+        if (APPLICATION_NDJSON.includes(mediaType)) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ensas.securitywebapp.enumeration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public enum Permission {
+    USER_READ("user:read"),
+    USER_CREATE("user:create"),
+    USER_UPDATE("user:update"),
+    USER_DELETE("user:delete");
+
+    public static final int ALL_PERMISSIONS_MASK = (1 << values().length) - 1;
+    private static final String[][] AUTHORITIES_BY_MASK = new String[ALL_PERMISSIONS_MASK + 1][];
+
+    static {
+        for (int mask = 0; mask <= ALL_PERMISSIONS_MASK; mask++) {
+            List<String> authorities = new ArrayList<>();
+            for (Permission permission : values()) {
+                if ((mask & permission.getMask()) != 0) {
+                    authorities.add(permission.getAuthority());
+                }
+            }
+            AUTHORITIES_BY_MASK[mask] = authorities.toArray(new String[0]);
+        }
+    }
+
+    private String authority;
+
+    Permission(String authority) {
+        this.authority = authority;
+    }
+
+    public String getAuthority() {
+        return authority;
+    }
+
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    public static Permission fromAuthority(String authority) {
+        for (Permission permission : values()) {
+            if (permission.authority.equals(authority)) {
+                return permission;
+            }
+        }
+        throw new IllegalArgumentException("Unknown authority: " + authority);
+    }
+
+    public static int toMask(String[] authorities) {
+        int mask = 0;
+        if (authorities != null) {
+            for (String authority : authorities) {
+                mask |= fromAuthority(authority).getMask();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the shared authority array of a mask; callers must not modify it.
+     */
+    public static String[] toAuthorities(int mask) {
+        if ((mask & ~ALL_PERMISSIONS_MASK) != 0) {
+            throw new IllegalArgumentException("Unknown permission mask: " + mask);
+        }
+        return AUTHORITIES_BY_MASK[mask];
+    }
+}
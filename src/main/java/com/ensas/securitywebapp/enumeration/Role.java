@@ -1,6 +1,9 @@
 package com.ensas.securitywebapp.enumeration;
 
-import com.ensas.securitywebapp.constant.Authorities;
+import com.ensas.securitywebapp.utility.GrantedAuthorities;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
 
 import static com.ensas.securitywebapp.constant.Authorities.*;
 
@@ -12,12 +15,23 @@ public enum Role {
     ROLE_SUPPER_ADMIN(SUPPER_ADMIN_AUTHORITIES);
 
     private String[] authorities;
+    private int permissionMask;
 
     Role(String... authorities) {
-        this.authorities = authorities;
+        // keep the same shared array instances that PermissionMaskConverter hands to loaded users
+        this.permissionMask = Permission.toMask(authorities);
+        this.authorities = Permission.toAuthorities(permissionMask);
     }
 
     public String[] getAuthorities(){
         return authorities;
     }
+
+    public int getPermissionMask(){
+        return permissionMask;
+    }
+
+    public List<GrantedAuthority> getGrantedAuthorities(){
+        return GrantedAuthorities.of(permissionMask);
+    }
 }
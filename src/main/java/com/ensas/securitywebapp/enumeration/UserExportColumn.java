@@ -0,0 +1,70 @@
+package com.ensas.securitywebapp.enumeration;
+
+import com.ensas.securitywebapp.domain.UserSummary;
+import com.ensas.securitywebapp.exceptions.domain.InvalidExportRequestException;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.EXPORT_UNKNOWN_COLUMN;
+
+/**
+ * Columns of the user export, named like the JSON properties of /user/list.
+ */
+public enum UserExportColumn {
+    ID("id", UserSummary::getId),
+    CODE_EMPLOYEE("code_employee", UserSummary::getCode_employee),
+    FIRST_NAME("firstName", UserSummary::getFirstName),
+    LAST_NAME("lastName", UserSummary::getLastName),
+    USERNAME("username", UserSummary::getUsername),
+    EMAIL("email", UserSummary::getEmail),
+    PROFILE_IMAGE_URL("profileImageUrl", UserSummary::getProfileImageUrl),
+    ROLES("roles", UserSummary::getRoles),
+    JOIN_DATE("joinDate", UserSummary::getJoinDate),
+    LAST_LOGIN_DATE_DISPLAY("lastLoginDateDisplay", UserSummary::getLastLoginDateDisplay),
+    ACTIVE("active", UserSummary::isActive),
+    NOT_LOCKED("notLocked", UserSummary::isNotLocked);
+
+    private static final List<UserExportColumn> ALL_COLUMNS = Collections.unmodifiableList(Arrays.asList(values()));
+    private static final Map<String, UserExportColumn> COLUMNS_BY_NAME = new HashMap<>();
+
+    static {
+        for (UserExportColumn column : values()) {
+            COLUMNS_BY_NAME.put(column.columnName.toLowerCase(Locale.ROOT), column);
+        }
+    }
+
+    private String columnName;
+    private Function<UserSummary, Object> value;
+
+    UserExportColumn(String columnName, Function<UserSummary, Object> value) {
+        this.columnName = columnName;
+        this.value = value;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public Object valueOf(UserSummary userSummary) {
+        return value.apply(userSummary);
+    }
+
+    /**
+     * Parses a comma separated list of column names in the requested order; no list selects every column.
+     */
+    public static List<UserExportColumn> parse(String columnNames) throws InvalidExportRequestException {
+        if (columnNames == null || columnNames.trim().isEmpty()) {
+            return ALL_COLUMNS;
+        }
+        Set<UserExportColumn> columns = new LinkedHashSet<>();
+        for (String columnName : columnNames.split(",")) {
+            UserExportColumn column = COLUMNS_BY_NAME.get(columnName.trim().toLowerCase(Locale.ROOT));
+            if (column == null) {
+                throw new InvalidExportRequestException(EXPORT_UNKNOWN_COLUMN + columnName.trim());
+            }
+            columns.add(column);
+        }
+        return new ArrayList<>(columns);
+    }
+}
@@ -1,10 +1,12 @@
 package com.ensas.securitywebapp.exceptions.domain;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.ensas.securitywebapp.domain.HttpResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.servlet.error.ErrorController;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +25,7 @@ import java.io.IOException;
 import java.util.Locale;
 import java.util.Objects;
 
+import static com.ensas.securitywebapp.constant.SecurityConstant.PASSWORD_HASHING_RETRY_AFTER;
 import static org.springframework.http.HttpStatus.*;
 
 @RestControllerAdvice
@@ -65,6 +68,24 @@ public class ExceptionHandling implements ErrorController {
         return createHttpResponse(UNAUTHORIZED, e.getMessage());
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<HttpResponse> invalidRefreshTokenException(InvalidRefreshTokenException e){
+        return createHttpResponse(UNAUTHORIZED, e.getMessage());
+    }
+
+    @ExceptionHandler(JWTVerificationException.class)
+    public ResponseEntity<HttpResponse> jwtVerificationException(JWTVerificationException e){
+        return createHttpResponse(UNAUTHORIZED, e.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<HttpResponse> passwordHashingRejectedException(PasswordHashingRejectedException e){
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(PASSWORD_HASHING_RETRY_AFTER));
+        return new ResponseEntity<>(new HttpResponse(SERVICE_UNAVAILABLE.value(), SERVICE_UNAVAILABLE,
+                SERVICE_UNAVAILABLE.getReasonPhrase().toUpperCase(), e.getMessage()), headers, SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(EmailExistException.class)
     public ResponseEntity<HttpResponse> emailExistException(EmailExistException e){
         return createHttpResponse(BAD_REQUEST, e.getMessage());
@@ -85,6 +106,11 @@ public class ExceptionHandling implements ErrorController {
         return createHttpResponse(BAD_REQUEST, e.getMessage());
     }
 
+    @ExceptionHandler(InvalidExportRequestException.class)
+    public ResponseEntity<HttpResponse> invalidExportRequestException(InvalidExportRequestException e){
+        return createHttpResponse(BAD_REQUEST, e.getMessage());
+    }
+
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<HttpResponse> methodNotSupportedException(HttpRequestMethodNotSupportedException e){
         HttpMethod method = Objects.requireNonNull(e.getSupportedHttpMethods()).iterator().next();
@@ -0,0 +1,7 @@
+package com.ensas.securitywebapp.exceptions.domain;
+
+public class InvalidExportRequestException extends Exception {
+    public InvalidExportRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ensas.securitywebapp.exceptions.domain;
+
+public class InvalidRefreshTokenException extends Exception {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
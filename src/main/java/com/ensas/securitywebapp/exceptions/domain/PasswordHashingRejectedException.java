@@ -0,0 +1,7 @@
+package com.ensas.securitywebapp.exceptions.domain;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
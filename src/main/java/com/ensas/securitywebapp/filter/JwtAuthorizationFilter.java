@@ -2,11 +2,20 @@ package com.ensas.securitywebapp.filter;
 
 
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.ensas.securitywebapp.Services.TokenRevocationService;
+import com.ensas.securitywebapp.domain.VerifiedToken;
 import com.ensas.securitywebapp.utility.JWTokenProvider;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import javax.servlet.FilterChain;
@@ -14,25 +23,43 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.List;
+import java.util.stream.Collectors;
 
 
 import static com.ensas.securitywebapp.constant.SecurityConstant.*;
 import static org.springframework.http.HttpHeaders.*;
 import static org.springframework.http.HttpStatus.*;
+import static java.util.Arrays.stream;
 @Component
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
+    private static final RequestMatcher PUBLIC_URL_MATCHER = new OrRequestMatcher(
+            stream(PUBLIC_URLS).map(AntPathRequestMatcher::new).collect(Collectors.toList()));
+
     private JWTokenProvider jwTokenProvider;
+    private TokenRevocationService tokenRevocationService;
+    private CorsConfigurationSource corsConfigurationSource;
+    private CorsProcessor corsProcessor = new DefaultCorsProcessor();
 
-    public JwtAuthorizationFilter(JWTokenProvider jwTokenProvider) {
+    public JwtAuthorizationFilter(JWTokenProvider jwTokenProvider, TokenRevocationService tokenRevocationService, CorsConfigurationSource corsConfigurationSource) {
         this.jwTokenProvider = jwTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
+        this.corsConfigurationSource = corsConfigurationSource;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PUBLIC_URL_MATCHER.matches(request);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         if(request.getMethod().equalsIgnoreCase(OPTIONS_HTTP_METHOD)){
-            response.setStatus(OK.value());
+            CorsConfiguration corsConfiguration = corsConfigurationSource.getCorsConfiguration(request);
+            if (corsConfiguration == null || corsProcessor.processRequest(corsConfiguration, request, response)) {
+                response.setStatus(OK.value());
+            }
+            return;
         }else {
             String authorizationHeader = request.getHeader(AUTHORIZATION);
             if (authorizationHeader == null || !authorizationHeader.startsWith(TOKEN_PREFIX)){
@@ -40,10 +67,10 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
                 return;
             }
             String token = authorizationHeader.substring(TOKEN_PREFIX.length()).trim();
-            String username = jwTokenProvider.getSubject(token);
-            if(jwTokenProvider.isTokenValid(username, token) && SecurityContextHolder.getContext().getAuthentication() == null){
-                List<GrantedAuthority> authorities = jwTokenProvider.getAuthorities(token);
-                Authentication authentication = jwTokenProvider.getAuthentication(username, authorities, request);
+            VerifiedToken verifiedToken = verifyToken(token);
+            if(verifiedToken != null && jwTokenProvider.isTokenValid(verifiedToken)
+                    && !tokenRevocationService.isRevoked(verifiedToken.getId()) && SecurityContextHolder.getContext().getAuthentication() == null){
+                Authentication authentication = jwTokenProvider.getAuthentication(verifiedToken, request);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }else {
                 SecurityContextHolder.clearContext();
@@ -51,4 +78,13 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request,response);
     }
+
+    private VerifiedToken verifyToken(String token) {
+        try {
+            return jwTokenProvider.verifyToken(token);
+        } catch (JWTVerificationException exception) {
+            logger.debug(TOKEN_CANNOT_BE_VERIFIED, exception);
+            return null;
+        }
+    }
 }
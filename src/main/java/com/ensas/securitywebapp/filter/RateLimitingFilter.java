@@ -0,0 +1,110 @@
+package com.ensas.securitywebapp.filter;
+
+import com.ensas.securitywebapp.domain.HttpResponse;
+import com.ensas.securitywebapp.utility.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.ensas.securitywebapp.constant.SecurityConstant.*;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@Component
+public class RateLimitingFilter extends OncePerRequestFilter {
+
+    private boolean enabled;
+    private Map<String, RouteLimit> routeLimits = new LinkedHashMap<>();
+    private ObjectMapper mapper;
+
+    @Autowired
+    public RateLimitingFilter(ObjectMapper mapper,
+                              @Value("${security.rate-limit.enabled:true}") boolean enabled,
+                              @Value("${security.rate-limit.idle-timeout:600000}") long idleTimeout,
+                              @Value("${security.rate-limit.maximum-clients:100000}") long maximumClients,
+                              @Value("${security.rate-limit.login.capacity:10}") int loginCapacity,
+                              @Value("${security.rate-limit.login.per-minute:10}") int loginPerMinute,
+                              @Value("${security.rate-limit.register.capacity:3}") int registerCapacity,
+                              @Value("${security.rate-limit.register.per-minute:3}") int registerPerMinute,
+                              @Value("${security.rate-limit.reset-password.capacity:3}") int resetPasswordCapacity,
+                              @Value("${security.rate-limit.reset-password.per-minute:1}") int resetPasswordPerMinute) {
+        this.mapper = mapper;
+        this.enabled = enabled;
+        routeLimits.put(LOGIN_ROUTE, new RouteLimit(LOGIN_URL,
+                new TokenBucketRateLimiter(loginCapacity, loginPerMinute, idleTimeout, maximumClients)));
+        routeLimits.put(REGISTER_ROUTE, new RouteLimit(REGISTER_URL,
+                new TokenBucketRateLimiter(registerCapacity, registerPerMinute, idleTimeout, maximumClients)));
+        routeLimits.put(RESET_PASSWORD_ROUTE, new RouteLimit(RESET_PASSWORD_URL,
+                new TokenBucketRateLimiter(resetPasswordCapacity, resetPasswordPerMinute, idleTimeout, maximumClients)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getMethod().equalsIgnoreCase(OPTIONS_HTTP_METHOD);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        for (RouteLimit routeLimit : routeLimits.values()) {
+            if (routeLimit.matcher.matches(request)) {
+                // getRemoteAddr honours server.forward-headers-strategy, so proxies are handled by the container
+                long waitNanos = routeLimit.limiter.tryAcquire(request.getRemoteAddr());
+                if (waitNanos > 0) {
+                    tooManyRequests(response, waitNanos);
+                    return;
+                }
+                break;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    public Map<String, Long> getRejectedCounts() {
+        Map<String, Long> rejectedCounts = new LinkedHashMap<>();
+        routeLimits.forEach((route, routeLimit) -> rejectedCounts.put(route, routeLimit.limiter.getRejectedCount()));
+        return Collections.unmodifiableMap(rejectedCounts);
+    }
+
+    public long getRejectedCount(String route) {
+        RouteLimit routeLimit = routeLimits.get(route);
+        return routeLimit == null ? 0 : routeLimit.limiter.getRejectedCount();
+    }
+
+    private void tooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        HttpResponse httpResponse = new HttpResponse(TOO_MANY_REQUESTS.value(), TOO_MANY_REQUESTS,
+                TOO_MANY_REQUESTS.getReasonPhrase(), TOO_MANY_REQUESTS_MESSAGE);
+        response.setStatus(TOO_MANY_REQUESTS.value());
+        response.setHeader(RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(APPLICATION_JSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        mapper.writeValue(outputStream, httpResponse);
+        outputStream.flush();
+    }
+
+    private static final class RouteLimit {
+        private final RequestMatcher matcher;
+        private final TokenBucketRateLimiter limiter;
+
+        private RouteLimit(String pattern, TokenBucketRateLimiter limiter) {
+            this.matcher = new AntPathRequestMatcher(pattern);
+            this.limiter = limiter;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ensas.securitywebapp.repositories;
+
+import com.ensas.securitywebapp.domain.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.currentTokenId = :newTokenId, f.expiresAt = :expiresAt " +
+            "where f.familyId = :familyId and f.currentTokenId = :tokenId and f.revoked = false and f.expiresAt > :now")
+    int rotate(@Param("familyId") String familyId, @Param("tokenId") String tokenId, @Param("newTokenId") String newTokenId,
+               @Param("expiresAt") Date expiresAt, @Param("now") Date now);
+
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.familyId = :familyId")
+    int revoke(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("delete from RefreshTokenFamily f where f.expiresAt < :now")
+    int deleteExpired(@Param("now") Date now);
+}
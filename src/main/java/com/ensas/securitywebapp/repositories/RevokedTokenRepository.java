@@ -0,0 +1,14 @@
+package com.ensas.securitywebapp.repositories;
+
+import com.ensas.securitywebapp.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(Date revokedAfter, Date expiresAfter);
+    @Transactional
+    void deleteByExpiresAtBefore(Date date);
+}
@@ -0,0 +1,14 @@
+package com.ensas.securitywebapp.repositories;
+
+import com.ensas.securitywebapp.domain.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+    List<SigningKey> findByExpiresAtAfterOrderByCreatedAtDesc(Date date);
+    @Transactional
+    void deleteByExpiresAtBefore(Date date);
+}
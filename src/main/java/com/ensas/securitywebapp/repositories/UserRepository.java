@@ -1,9 +1,56 @@
 package com.ensas.securitywebapp.repositories;
 
 import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserAuthorizationView;
+import com.ensas.securitywebapp.domain.UserSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
+    String USER_SUMMARY_COLUMNS = "u.id, u.code_employee, u.firstName, u.lastName, u.username, u.email, u.profileImageUrl, u.role, " +
+            "u.joinDate, u.lastLoginDateDisplay, u.isActive, u.isNotLocked";
+
     User findUserByUsername(String username);
     User findUserByEmail(String email);
+
+    @Query("select u from User u where u.username in (:username, :currentUsername) or u.email = :email")
+    List<User> findUniquenessCandidates(@Param("currentUsername") String currentUsername, @Param("username") String username,
+                                        @Param("email") String email);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select new com.ensas.securitywebapp.domain.UserSummary(" + USER_SUMMARY_COLUMNS + ") from User u where u.id > :afterId order by u.id")
+    List<UserSummary> findSummaryPageAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    // Integer.MIN_VALUE makes the MySQL driver stream rows from a forward-only cursor instead of buffering the result
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select new com.ensas.securitywebapp.domain.UserSummary(" + USER_SUMMARY_COLUMNS + ") from User u order by u.id")
+    Stream<UserSummary> streamAllSummaries();
+
+    @Query("select u.authorities as authorities, u.legacyAuthorities as legacyAuthorities, u.role as role, u.isActive as active, u.isNotLocked as notLocked from User u where u.username = :username")
+    UserAuthorizationView findAuthorizationViewByUsername(@Param("username") String username);
+
+    @Modifying
+    @Query("update User u set u.isNotLocked = :notLocked where u.id = :id")
+    int updateNotLocked(@Param("id") int id, @Param("notLocked") boolean notLocked);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
 }
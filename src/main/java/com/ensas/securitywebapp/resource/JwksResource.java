@@ -0,0 +1,59 @@
+package com.ensas.securitywebapp.resource;
+
+import com.ensas.securitywebapp.utility.SigningKeyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.ensas.securitywebapp.constant.SecurityConstant.*;
+
+@RestController
+public class JwksResource {
+
+    private static final int EC_COORDINATE_SIZE = 32;
+
+    private SigningKeyManager signingKeyManager;
+
+    @Autowired
+    public JwksResource(SigningKeyManager signingKeyManager) {
+        this.signingKeyManager = signingKeyManager;
+    }
+
+    @GetMapping(JWKS_URL)
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        List<Map<String, String>> keys = new ArrayList<>();
+        for (Map.Entry<String, ECPublicKey> entry : signingKeyManager.getPublicKeys().entrySet()) {
+            keys.add(toJwk(entry.getKey(), entry.getValue()));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(JWKS_CACHE_MAX_AGE, TimeUnit.SECONDS).cachePublic())
+                .body(Collections.singletonMap("keys", keys));
+    }
+
+    private Map<String, String> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kty", EC_KEY_ALGORITHM);
+        jwk.put("crv", JWK_EC_CURVE);
+        jwk.put("use", "sig");
+        jwk.put("alg", ES256_ALGORITHM);
+        jwk.put("kid", kid);
+        jwk.put("x", encodeCoordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", encodeCoordinate(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    private String encodeCoordinate(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] padded = new byte[EC_COORDINATE_SIZE];
+        int length = Math.min(bytes.length, EC_COORDINATE_SIZE);
+        System.arraycopy(bytes, bytes.length - length, padded, EC_COORDINATE_SIZE - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+}
@@ -1,34 +1,66 @@
 package com.ensas.securitywebapp.resource;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.ensas.securitywebapp.Services.RefreshTokenService;
+import com.ensas.securitywebapp.Services.TokenRevocationService;
+import com.ensas.securitywebapp.Services.UserImportService;
 import com.ensas.securitywebapp.Services.UserService;
 import com.ensas.securitywebapp.domain.HttpResponse;
+import com.ensas.securitywebapp.domain.TokenPair;
 import com.ensas.securitywebapp.domain.User;
 import com.ensas.securitywebapp.domain.UserPrincipal;
+import com.ensas.securitywebapp.domain.UserSummary;
+import com.ensas.securitywebapp.domain.VerifiedToken;
+import com.ensas.securitywebapp.enumeration.ExportFormat;
+import com.ensas.securitywebapp.enumeration.ImportFormat;
+import com.ensas.securitywebapp.enumeration.UserExportColumn;
 import com.ensas.securitywebapp.exceptions.domain.*;
 import com.ensas.securitywebapp.utility.JWTokenProvider;
+import com.ensas.securitywebapp.utility.UserExportWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.mail.MessagingException;
+import javax.servlet.http.HttpServletRequest;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static com.ensas.securitywebapp.constant.FileConstant.*;
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.*;
 import static com.ensas.securitywebapp.constant.SecurityConstant.JWT_TOKEN_HEADER;
+import static com.ensas.securitywebapp.constant.SecurityConstant.NEXT_AFTER_ID_HEADER;
+import static com.ensas.securitywebapp.constant.SecurityConstant.REFRESH_TOKEN_HEADER;
+import static com.ensas.securitywebapp.constant.SecurityConstant.TOKEN_CANNOT_BE_VERIFIED;
+import static com.ensas.securitywebapp.constant.SecurityConstant.TOKEN_PREFIX;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
 import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.MediaType.IMAGE_JPEG_VALUE;
 
 @RestController
@@ -37,16 +69,28 @@ public class UserResource extends ExceptionHandling {
 
     public static final String USER_DELETED_SUCCESSFULLY = "User deleted successfully";
     public static final String SENT_TO = "An email with new password sent to: ";
+    public static final String LOGGED_OUT_SUCCESSFULLY = "Logged out successfully";
+    public static final String TOKEN_REFRESHED = "Token refreshed";
 
     private UserService userService;
     private AuthenticationManager authenticationManager;
     private JWTokenProvider jwTokenProvider;
+    private TokenRevocationService tokenRevocationService;
+    private RefreshTokenService refreshTokenService;
+    private ObjectMapper objectMapper;
+    private UserImportService userImportService;
 
     @Autowired
-    public UserResource(UserService userService, AuthenticationManager authenticationManager, JWTokenProvider jwTokenProvider) {
+    public UserResource(UserService userService, AuthenticationManager authenticationManager, JWTokenProvider jwTokenProvider,
+                        TokenRevocationService tokenRevocationService, RefreshTokenService refreshTokenService, ObjectMapper objectMapper,
+                        UserImportService userImportService) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.jwTokenProvider = jwTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+        this.objectMapper = objectMapper;
+        this.userImportService = userImportService;
     }
 
     @PostMapping("/register")
@@ -57,15 +101,41 @@ public class UserResource extends ExceptionHandling {
 
     @PostMapping("/login")
     public ResponseEntity<User>  login(@RequestBody User user)  {
-        System.out.println("1");
-        authentication(user.getUsername(), user.getPassword());
-        System.out.println("2");
-        User loginUser = userService.findUserByUsername(user.getUsername());
-        UserPrincipal userPrincipal = new UserPrincipal(loginUser);
+        UserPrincipal userPrincipal = authentication(user.getUsername(), user.getPassword());
+        User loginUser = userPrincipal.getUser();
         HttpHeaders jwtHeader = getJwtHeader(userPrincipal);
         return new ResponseEntity<>(loginUser, jwtHeader, OK);
     }
 
+    @PostMapping("/token/refresh")
+    public ResponseEntity<HttpResponse> refreshToken(@RequestHeader(REFRESH_TOKEN_HEADER) String refreshToken) throws InvalidRefreshTokenException {
+        TokenPair tokenPair = refreshTokenService.refresh(refreshToken);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(JWT_TOKEN_HEADER, tokenPair.getAccessToken());
+        headers.add(REFRESH_TOKEN_HEADER, tokenPair.getRefreshToken());
+        return new ResponseEntity<>(new HttpResponse(OK.value(), OK, OK.getReasonPhrase(), TOKEN_REFRESHED), headers, OK);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<HttpResponse> logout(@RequestHeader(AUTHORIZATION) String authorizationHeader,
+                                               @RequestHeader(value = REFRESH_TOKEN_HEADER, required = false) String refreshToken) {
+        if (!authorizationHeader.startsWith(TOKEN_PREFIX)) {
+            return response(UNAUTHORIZED, TOKEN_CANNOT_BE_VERIFIED);
+        }
+        String token = authorizationHeader.substring(TOKEN_PREFIX.length()).trim();
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwTokenProvider.verifyToken(token);
+        } catch (JWTVerificationException exception) {
+            return response(UNAUTHORIZED, TOKEN_CANNOT_BE_VERIFIED);
+        }
+        tokenRevocationService.revoke(verifiedToken.getId(), verifiedToken.getExpiresAt());
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken, verifiedToken.getSubject());
+        }
+        return response(OK, LOGGED_OUT_SUCCESSFULLY);
+    }
+
     @PostMapping("/add" )
     public ResponseEntity<User> addUser(@RequestParam("firstName") String firstName,
                                         @RequestParam("lastName") String lastName,
@@ -93,18 +163,77 @@ public class UserResource extends ExceptionHandling {
         return  new ResponseEntity<>(updateUser , OK);
     }
 
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyAuthority('user:create')")
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        InputStream inputStream = request.getInputStream();
+        // resolved here because the body is written outside the request thread
+        String profileImageBaseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().path(DEFAULT_USER_IMAGE_PATH).toUriString();
+        StreamingResponseBody body = outputStream -> userImportService.importUsers(inputStream, format, profileImageBaseUrl, outputStream);
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/find/{username}")
-    public ResponseEntity<User> getUser(@PathVariable("username") String username){
-        User user = userService.findUserByUsername(username);
+    public ResponseEntity<UserSummary> getUser(@PathVariable("username") String username){
+        UserSummary user = userService.findUserSummaryByUsername(username);
         return new ResponseEntity<>(user, OK);
     }
 
-    @GetMapping("/list")
-    public ResponseEntity<List<User>> getAllUser(){
-        List<User> users = userService.getUsers();
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSummary>> searchUsers(@RequestParam("q") String query,
+                                                         @RequestParam(value = "limit", defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit){
+        List<UserSummary> users = userService.searchUsers(query, Math.max(1, Math.min(limit, MAXIMUM_SEARCH_LIMIT)));
         return new ResponseEntity<>(users, OK);
     }
 
+    @GetMapping(value = "/list", params = {"!afterId", "!size"})
+    public ResponseEntity<StreamingResponseBody> getAllUser(){
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                userService.forEachUserSummary(user -> writeUser(generator, user));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyAuthority('user:read')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                                             @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                                                             @RequestParam(value = "columns", required = false) String columns) throws InvalidExportRequestException {
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        List<UserExportColumn> exportColumns = UserExportColumn.parse(columns);
+        StreamingResponseBody body = outputStream -> {
+            try (UserExportWriter writer = new UserExportWriter(gzip ? new GZIPOutputStream(outputStream) : outputStream,
+                    exportFormat, exportColumns, objectMapper)) {
+                userService.forEachUserSummary(writer::write);
+            }
+        };
+        ContentDisposition contentDisposition = ContentDisposition.attachment().filename(EXPORT_FILE_NAME + exportFormat.getExtension()).build();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(CONTENT_DISPOSITION, contentDisposition.toString());
+        if (gzip) {
+            response.header(CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/list")
+    public ResponseEntity<List<UserSummary>> getUsersPage(@RequestParam(value = "afterId", defaultValue = "0") int afterId,
+                                                   @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size){
+        int pageSize = Math.max(1, Math.min(size, MAXIMUM_PAGE_SIZE));
+        List<UserSummary> users = userService.getUserSummaries(afterId, pageSize);
+        HttpHeaders headers = new HttpHeaders();
+        if(users.size() == pageSize){
+            headers.add(NEXT_AFTER_ID_HEADER, String.valueOf(users.get(users.size() - 1).getId()));
+        }
+        return new ResponseEntity<>(users, headers, OK);
+    }
+
     @GetMapping("/resetPassword/{email}")
     public ResponseEntity<HttpResponse> resetPassword(@PathVariable("email") String email) throws EmailNotFoundException, MessagingException {
         userService.resetPassword(email);
@@ -148,14 +277,24 @@ public class UserResource extends ExceptionHandling {
         return new ResponseEntity<>(new HttpResponse(status.value(), status, status.getReasonPhrase(), msg), status);
     }
 
+    private void writeUser(JsonGenerator generator, UserSummary user) {
+        try {
+            generator.writeObject(user);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
     private HttpHeaders getJwtHeader(UserPrincipal userPrincipal) {
         HttpHeaders headers = new HttpHeaders();
         headers.add(JWT_TOKEN_HEADER, jwTokenProvider.generateJwtToken(userPrincipal));
+        headers.add(REFRESH_TOKEN_HEADER, refreshTokenService.createRefreshToken(userPrincipal.getUsername()));
         return headers;
     }
 
-    private void authentication(String username, String password) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+    private UserPrincipal authentication(String username, String password) {
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+        return (UserPrincipal) authentication.getPrincipal();
     }
 
 }
@@ -0,0 +1,53 @@
+package com.ensas.securitywebapp.utility;
+
+import com.ensas.securitywebapp.Services.PasswordHashingExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class BoundedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2(a|y|b)?\\$(\\d\\d)\\$");
+
+    private final int strength;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    public BoundedBCryptPasswordEncoder(int strength, PasswordHashingExecutor passwordHashingExecutor) {
+        super(strength);
+        this.strength = strength;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingExecutor.execute(() -> super.encode(rawPassword));
+    }
+
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return passwordHashingExecutor.submit(() -> super.encode(rawPassword));
+    }
+
+    public int getParallelism() {
+        return passwordHashingExecutor.getPoolSize();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingExecutor.execute(() -> super.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(2)) != strength;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ensas.securitywebapp.utility;
+
+import com.ensas.securitywebapp.enumeration.Permission;
+import com.ensas.securitywebapp.enumeration.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.stream;
+
+public final class GrantedAuthorities {
+    private static final int MAXIMUM_INTERNED_SETS = 256;
+    private static volatile AuthoritySet[] interned = new AuthoritySet[0];
+    private static final List<GrantedAuthority>[] AUTHORITIES_BY_MASK = newAuthoritiesByMask();
+
+    static {
+        for (Role role : Role.values()) {
+            intern(role.getAuthorities());
+        }
+    }
+
+    private GrantedAuthorities() {
+    }
+
+    public static List<GrantedAuthority> of(String[] claims) {
+        if (claims == null || claims.length == 0) {
+            return Collections.emptyList();
+        }
+        for (AuthoritySet authoritySet : interned) {
+            if (authoritySet.claims == claims || Arrays.equals(authoritySet.claims, claims)) {
+                return authoritySet.authorities;
+            }
+        }
+        return intern(claims);
+    }
+
+    public static List<GrantedAuthority> of(int permissionMask) {
+        if ((permissionMask & ~Permission.ALL_PERMISSIONS_MASK) != 0) {
+            throw new IllegalArgumentException("Unknown permission mask: " + permissionMask);
+        }
+        return AUTHORITIES_BY_MASK[permissionMask];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GrantedAuthority>[] newAuthoritiesByMask() {
+        List<GrantedAuthority>[] authoritiesByMask = new List[Permission.ALL_PERMISSIONS_MASK + 1];
+        for (int mask = 0; mask <= Permission.ALL_PERMISSIONS_MASK; mask++) {
+            String[] authorities = Permission.toAuthorities(mask);
+            authoritiesByMask[mask] = authorities.length == 0 ? Collections.emptyList() : intern(authorities);
+        }
+        return authoritiesByMask;
+    }
+
+    private static synchronized List<GrantedAuthority> intern(String[] claims) {
+        AuthoritySet[] current = interned;
+        for (AuthoritySet authoritySet : current) {
+            if (Arrays.equals(authoritySet.claims, claims)) {
+                return authoritySet.authorities;
+            }
+        }
+        AuthoritySet authoritySet = new AuthoritySet(claims.clone());
+        if (current.length < MAXIMUM_INTERNED_SETS) {
+            AuthoritySet[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = authoritySet;
+            interned = updated;
+        }
+        return authoritySet.authorities;
+    }
+
+    private static final class AuthoritySet {
+        private final String[] claims;
+        private final List<GrantedAuthority> authorities;
+
+        private AuthoritySet(String[] claims) {
+            this.claims = claims;
+            this.authorities = Collections.unmodifiableList(
+                    stream(claims).map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+        }
+    }
+}
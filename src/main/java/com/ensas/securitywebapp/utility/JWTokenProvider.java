@@ -6,48 +6,110 @@ package com.ensas.securitywebapp.utility;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
-import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.InvalidClaimException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.ensas.securitywebapp.domain.UserPrincipal;
+import com.ensas.securitywebapp.domain.VerifiedToken;
+import com.ensas.securitywebapp.enumeration.Permission;
 import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 import static com.auth0.jwt.algorithms.Algorithm.HMAC256;
 import static com.auth0.jwt.algorithms.Algorithm.HMAC512;
 
 
 import static com.ensas.securitywebapp.constant.SecurityConstant.*;
-import static java.util.Arrays.stream;
 
 @Component
 public class JWTokenProvider implements Serializable {
     @Value("${jwt.secret}")
     private String secret;
 
+    private VerifiedTokenCache verifiedTokenCache;
+    private SigningKeyManager signingKeyManager;
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+    private JWTVerifier refreshTokenVerifier;
+
+    @Autowired
+    public JWTokenProvider(VerifiedTokenCache verifiedTokenCache, SigningKeyManager signingKeyManager) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.signingKeyManager = signingKeyManager;
+    }
+
+    @PostConstruct
+    public void init() {
+        algorithm = signingKeyManager.isEnabled() ? Algorithm.ECDSA256(signingKeyManager) : HMAC512(secret);
+        verifier = JWT.require(algorithm).withIssuer(GET_ARRAYS_LLC).build();
+        refreshTokenVerifier = JWT.require(algorithm).withIssuer(GET_ARRAYS_LLC).withClaim(TOKEN_TYPE, REFRESH_TOKEN_TYPE).build();
+    }
+
     public String generateJwtToken(UserPrincipal userPrincipal){
-         String[] claims  = getClaimsFromUser(userPrincipal);
+         return generateJwtToken(userPrincipal.getUsername(), getClaimsFromUser(userPrincipal));
+    }
+
+    public String generateJwtToken(String username, String[] claims){
          return JWT.create().withIssuer(GET_ARRAYS_LLC).withAudience(GET_ARRAYS_ADMINISTRATION)
-                 .withIssuedAt(new Date()).withSubject(userPrincipal.getUsername()).withArrayClaim(AUTHORITIES, claims)
+                 .withJWTId(UUID.randomUUID().toString())
+                 .withIssuedAt(new Date()).withSubject(username).withClaim(PERMISSIONS, Permission.toMask(claims))
                  .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                 .sign(Algorithm.HMAC512(secret.getBytes()));
+                 .sign(getSigningAlgorithm());
+    }
+
+    public String generateRefreshToken(String username, String familyId, String tokenId, Date expiresAt){
+         return JWT.create().withIssuer(GET_ARRAYS_LLC).withAudience(GET_ARRAYS_ADMINISTRATION)
+                 .withJWTId(tokenId).withClaim(TOKEN_TYPE, REFRESH_TOKEN_TYPE).withClaim(TOKEN_FAMILY, familyId)
+                 .withIssuedAt(new Date()).withSubject(username).withExpiresAt(expiresAt)
+                 .sign(getSigningAlgorithm());
+    }
+
+    public DecodedJWT verifyRefreshToken(String token) {
+        return refreshTokenVerifier.verify(token);
+    }
+
+    public VerifiedToken verifyToken(String token) {
+        VerifiedToken verifiedToken = verifiedTokenCache.get(token);
+        if (verifiedToken == null) {
+            DecodedJWT jwt = verifier.verify(token);
+            if (REFRESH_TOKEN_TYPE.equals(jwt.getClaim(TOKEN_TYPE).asString())) {
+                throw new InvalidClaimException(REFRESH_TOKEN_NOT_ACCEPTED);
+            }
+            verifiedToken = new VerifiedToken(jwt.getId(), jwt.getSubject(), jwt.getExpiresAt(), getGrantedAuthorities(jwt));
+            verifiedTokenCache.put(token, verifiedToken);
+        }
+        return verifiedToken;
+    }
+
+    // tokens issued before the permission mask still carry the authorities as a string array
+    private List<GrantedAuthority> getGrantedAuthorities(DecodedJWT jwt) {
+        Claim permissions = jwt.getClaim(PERMISSIONS);
+        if (permissions.isNull()) {
+            return GrantedAuthorities.of(jwt.getClaim(AUTHORITIES).asArray(String.class));
+        }
+        Integer permissionMask = permissions.asInt();
+        if (permissionMask == null || (permissionMask & ~Permission.ALL_PERMISSIONS_MASK) != 0) {
+            throw new InvalidClaimException(UNKNOWN_PERMISSIONS);
+        }
+        return GrantedAuthorities.of(permissionMask);
     }
 
     public List<GrantedAuthority> getAuthorities(String token){
-         String[] claims = getClaimsFromToken(token);
-         return stream(claims).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+         return verifyToken(token).getAuthorities();
     }
 
     public Authentication getAuthentication(String username, List<GrantedAuthority> authorities, HttpServletRequest request){
@@ -56,41 +118,27 @@ public class JWTokenProvider implements Serializable {
         return authenticationToken;
     }
 
-    public boolean isTokenValid(String username, String token){
-        JWTVerifier verifier = getJWTVerifier();
-        return StringUtils.isNotEmpty(username) && !isTokenExpired(verifier, token);
+    public Authentication getAuthentication(VerifiedToken verifiedToken, HttpServletRequest request){
+        return getAuthentication(verifiedToken.getSubject(), verifiedToken.getAuthorities(), request);
     }
 
-    public String getSubject(String token){
-        JWTVerifier verifier = getJWTVerifier();
-        return verifier.verify(token).getSubject();
+    public boolean isTokenValid(String username, String token){
+        return StringUtils.isNotEmpty(username) && !verifyToken(token).isExpired();
     }
 
-    private boolean isTokenExpired(JWTVerifier verifier, String token) {
-        Date expiration = verifier.verify(token).getExpiresAt();
-        return expiration.before(new Date());
+    public boolean isTokenValid(VerifiedToken verifiedToken){
+        return StringUtils.isNotEmpty(verifiedToken.getSubject()) && !verifiedToken.isExpired();
     }
 
-    private String[] getClaimsFromToken(String token) {
-        JWTVerifier verifier = getJWTVerifier();
-        return  verifier.verify(token).getClaim(AUTHORITIES).asArray(String.class);
+    public String getSubject(String token){
+        return verifyToken(token).getSubject();
     }
-    private JWTVerifier getJWTVerifier() {
-        JWTVerifier verifier;
-        try {
-            Algorithm algorithm = HMAC512(secret);
-            verifier = JWT.require(algorithm).withIssuer(GET_ARRAYS_LLC).build();
-        }catch (JWTVerificationException exception){
-            throw  new JWTVerificationException(TOKEN_CANNOT_BE_VERIFIED);
-        }
-        return verifier;
+
+    private Algorithm getSigningAlgorithm() {
+        return signingKeyManager.isEnabled() ? signingKeyManager.getSigningAlgorithm() : algorithm;
     }
 
     private String[] getClaimsFromUser(UserPrincipal userPrincipal) {
-        List<String> authorities = new ArrayList<>();
-        for(GrantedAuthority grantedAuthority : userPrincipal.getAuthorities()){
-            authorities.add(grantedAuthority.getAuthority());
-        }
-        return  authorities.toArray(new String[0]);
+        return userPrincipal.getAuthorityClaims();
     }
 }
@@ -0,0 +1,51 @@
+package com.ensas.securitywebapp.utility;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.io.*;
+
+/**
+ * Reads and writes the serialized String[] that builds before the permission mask stored in user.authorities.
+ * The column is kept in step with authority_mask so that rolling back to such a build keeps every user's permissions.
+ */
+@Converter
+public class LegacyAuthoritiesConverter implements AttributeConverter<String[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String[] authorities) {
+        if (authorities == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+            outputStream.writeObject(authorities);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns null when the column is empty or does not hold a String[].
+     */
+    @Override
+    public String[] convertToEntityAttribute(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass description) throws IOException, ClassNotFoundException {
+                // the column only ever held a String[], refuse anything else
+                if (!String[].class.getName().equals(description.getName())) {
+                    throw new InvalidClassException(description.getName(), "Unexpected class in authorities column");
+                }
+                return super.resolveClass(description);
+            }
+        }) {
+            return (String[]) inputStream.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException exception) {
+            return null;
+        }
+    }
+}
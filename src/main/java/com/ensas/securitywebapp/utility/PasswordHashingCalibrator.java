@@ -0,0 +1,46 @@
+package com.ensas.securitywebapp.utility;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+public final class PasswordHashingCalibrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHashingCalibrator.class);
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int SAMPLES = 3;
+
+    private PasswordHashingCalibrator() {
+    }
+
+    public static int calibrate(long targetLatencyMillis, int minimumStrength, int maximumStrength) {
+        int strength = minimumStrength;
+        for (int candidate = minimumStrength; candidate <= maximumStrength; candidate++) {
+            long latencyMillis = measure(candidate);
+            if (latencyMillis > targetLatencyMillis) {
+                break;
+            }
+            strength = candidate;
+            // each extra cost round doubles the work, so stop once the next one cannot fit
+            if (latencyMillis * 2 > targetLatencyMillis) {
+                break;
+            }
+        }
+        LOGGER.info("Calibrated BCrypt strength {} for a target of {} ms per hash", strength, targetLatencyMillis);
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
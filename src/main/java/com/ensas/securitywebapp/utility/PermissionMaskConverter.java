@@ -0,0 +1,20 @@
+package com.ensas.securitywebapp.utility;
+
+import com.ensas.securitywebapp.enumeration.Permission;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class PermissionMaskConverter implements AttributeConverter<String[], Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(String[] authorities) {
+        return authorities == null ? null : Permission.toMask(authorities);
+    }
+
+    @Override
+    public String[] convertToEntityAttribute(Integer mask) {
+        return mask == null ? null : Permission.toAuthorities(mask);
+    }
+}
@@ -0,0 +1,170 @@
+package com.ensas.securitywebapp.utility;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.ensas.securitywebapp.domain.SigningKey;
+import com.ensas.securitywebapp.repositories.SigningKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+
+import static com.ensas.securitywebapp.constant.SecurityConstant.*;
+
+@Component
+public class SigningKeyManager implements ECDSAKeyProvider {
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private SigningKeyRepository signingKeyRepository;
+    private boolean enabled;
+    private long rotationInterval;
+    private long overlapWindow;
+    private long activationDelay;
+    private volatile Map<String, ECPublicKey> publicKeys = Collections.emptyMap();
+    private volatile ActiveKey activeKey;
+
+    @Autowired
+    public SigningKeyManager(SigningKeyRepository signingKeyRepository,
+                             @Value("${jwt.signing.algorithm:" + HMAC512_ALGORITHM + "}") String algorithm,
+                             @Value("${jwt.signing.rotation-interval:86400000}") long rotationInterval,
+                             @Value("${jwt.signing.overlap-window:" + REFRESH_TOKEN_EXPIRATION_TIME + "}") long overlapWindow,
+                             @Value("${jwt.signing.activation-delay:600000}") long activationDelay) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.enabled = ES256_ALGORITHM.equalsIgnoreCase(algorithm);
+        this.rotationInterval = rotationInterval;
+        this.overlapWindow = Math.max(overlapWindow, REFRESH_TOKEN_EXPIRATION_TIME);
+        this.activationDelay = Math.min(activationDelay, rotationInterval / 2);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            refreshKeys();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval:60000}")
+    public void refreshKeys() {
+        if (!enabled) {
+            return;
+        }
+        Date now = new Date();
+        List<SigningKey> keys = signingKeyRepository.findByExpiresAtAfterOrderByCreatedAtDesc(now);
+        if (keys.isEmpty() || keys.get(0).getCreatedAt().getTime() + rotationInterval - activationDelay <= now.getTime()) {
+            SigningKey signingKey = generateSigningKey(now);
+            signingKeyRepository.save(signingKey);
+            signingKeyRepository.deleteByExpiresAtBefore(now);
+            keys = new ArrayList<>(keys);
+            keys.add(0, signingKey);
+            logger.info(SIGNING_KEY_GENERATED + signingKey.getKid());
+        }
+        loadKeys(keys, now.getTime());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Algorithm getSigningAlgorithm() {
+        return activeKey.algorithm;
+    }
+
+    public Map<String, ECPublicKey> getPublicKeys() {
+        return publicKeys;
+    }
+
+    @Override
+    public ECPublicKey getPublicKeyById(String keyId) {
+        return keyId == null ? null : publicKeys.get(keyId);
+    }
+
+    @Override
+    public ECPrivateKey getPrivateKey() {
+        return activeKey.privateKey;
+    }
+
+    @Override
+    public String getPrivateKeyId() {
+        return activeKey.kid;
+    }
+
+    private void loadKeys(List<SigningKey> keys, long now) {
+        Map<String, ECPublicKey> loadedKeys = new LinkedHashMap<>();
+        SigningKey signer = null;
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(EC_KEY_ALGORITHM);
+            for (SigningKey key : keys) {
+                loadedKeys.put(key.getKid(), (ECPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(key.getPublicKey())));
+                if (signer == null && key.getCreatedAt().getTime() + activationDelay <= now) {
+                    signer = key;
+                }
+            }
+            if (signer == null) {
+                signer = keys.get(keys.size() - 1);
+            }
+            if (activeKey == null || !activeKey.kid.equals(signer.getKid())) {
+                ECPrivateKey privateKey = (ECPrivateKey) keyFactory.generatePrivate(new PKCS8EncodedKeySpec(signer.getPrivateKey()));
+                activeKey = new ActiveKey(signer.getKid(), loadedKeys.get(signer.getKid()), privateKey);
+            }
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(SIGNING_KEY_CANNOT_BE_LOADED, exception);
+        }
+        publicKeys = Collections.unmodifiableMap(loadedKeys);
+    }
+
+    private SigningKey generateSigningKey(Date now) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(EC_KEY_ALGORITHM);
+            generator.initialize(new ECGenParameterSpec(EC_CURVE));
+            KeyPair keyPair = generator.generateKeyPair();
+            Date expiresAt = new Date(now.getTime() + rotationInterval + overlapWindow);
+            return new SigningKey(UUID.randomUUID().toString(), ES256_ALGORITHM, keyPair.getPublic().getEncoded(),
+                    keyPair.getPrivate().getEncoded(), now, expiresAt);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(SIGNING_KEY_CANNOT_BE_LOADED, exception);
+        }
+    }
+
+    private static final class ActiveKey implements ECDSAKeyProvider {
+        private final String kid;
+        private final ECPublicKey publicKey;
+        private final ECPrivateKey privateKey;
+        private final Algorithm algorithm;
+
+        private ActiveKey(String kid, ECPublicKey publicKey, ECPrivateKey privateKey) {
+            this.kid = kid;
+            this.publicKey = publicKey;
+            this.privateKey = privateKey;
+            this.algorithm = Algorithm.ECDSA256(this);
+        }
+
+        @Override
+        public ECPublicKey getPublicKeyById(String keyId) {
+            return kid.equals(keyId) ? publicKey : null;
+        }
+
+        @Override
+        public ECPrivateKey getPrivateKey() {
+            return privateKey;
+        }
+
+        @Override
+        public String getPrivateKeyId() {
+            return kid;
+        }
+    }
+}
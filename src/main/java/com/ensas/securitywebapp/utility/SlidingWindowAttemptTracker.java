@@ -0,0 +1,147 @@
+package com.ensas.securitywebapp.utility;
+
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+public class SlidingWindowAttemptTracker {
+
+    private static final int MAXIMUM_PROBES = 16;
+    private static final long EMPTY = 0L;
+
+    private final int maxAttempts;
+    private final int windowSeconds;
+    private final int mask;
+    private final AtomicLongArray fingerprints;
+    private final AtomicIntegerArray cursors;
+    private final AtomicIntegerArray failureTimes;
+    private final LongSupplier clock;
+    private final long epochMillis;
+
+    public SlidingWindowAttemptTracker(int capacity, int maxAttempts, long windowMillis) {
+        this(capacity, maxAttempts, windowMillis, System::currentTimeMillis);
+    }
+
+    SlidingWindowAttemptTracker(int capacity, int maxAttempts, long windowMillis, LongSupplier clock) {
+        int slots = Integer.highestOneBit(Math.max(capacity, MAXIMUM_PROBES) - 1) << 1;
+        this.maxAttempts = maxAttempts;
+        this.windowSeconds = (int) Math.max(1, windowMillis / 1000);
+        this.mask = slots - 1;
+        this.fingerprints = new AtomicLongArray(slots);
+        this.cursors = new AtomicIntegerArray(slots);
+        this.failureTimes = new AtomicIntegerArray(slots * maxAttempts);
+        this.clock = clock;
+        this.epochMillis = clock.getAsLong();
+    }
+
+    public void recordFailure(String key) {
+        int now = now();
+        int slot = claimSlot(fingerprint(key), now);
+        int attempt = Math.floorMod(cursors.getAndIncrement(slot), maxAttempts);
+        failureTimes.set(slot * maxAttempts + attempt, now);
+    }
+
+    public boolean hasExceeded(String key) {
+        int slot = findSlot(fingerprint(key));
+        return slot >= 0 && failuresInWindow(slot, now()) >= maxAttempts;
+    }
+
+    public int getFailures(String key) {
+        int slot = findSlot(fingerprint(key));
+        return slot < 0 ? 0 : failuresInWindow(slot, now());
+    }
+
+    public void reset(String key) {
+        int slot = findSlot(fingerprint(key));
+        if (slot >= 0) {
+            clearFailures(slot);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    private int findSlot(long fingerprint) {
+        int index = index(fingerprint);
+        for (int probe = 0; probe < MAXIMUM_PROBES; probe++) {
+            int slot = (index + probe) & mask;
+            long current = fingerprints.get(slot);
+            if (current == fingerprint) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private int claimSlot(long fingerprint, int now) {
+        int index = index(fingerprint);
+        int victim = -1;
+        int victimFailures = Integer.MAX_VALUE;
+        for (int probe = 0; probe < MAXIMUM_PROBES; probe++) {
+            int slot = (index + probe) & mask;
+            long current = fingerprints.get(slot);
+            if (current == fingerprint) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                if (fingerprints.compareAndSet(slot, EMPTY, fingerprint)) {
+                    return slot;
+                }
+                if (fingerprints.get(slot) == fingerprint) {
+                    return slot;
+                }
+            }
+            // when the probe path is full, reuse the slot closest to being forgotten
+            int failures = failuresInWindow(slot, now);
+            if (failures < victimFailures) {
+                victim = slot;
+                victimFailures = failures;
+            }
+        }
+        long victimFingerprint = fingerprints.get(victim);
+        if (victimFingerprint != fingerprint && fingerprints.compareAndSet(victim, victimFingerprint, fingerprint)) {
+            clearFailures(victim);
+        }
+        return victim;
+    }
+
+    private int failuresInWindow(int slot, int now) {
+        int failures = 0;
+        int offset = slot * maxAttempts;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            int failedAt = failureTimes.get(offset + attempt);
+            if (failedAt != 0 && now - failedAt < windowSeconds) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private void clearFailures(int slot) {
+        int offset = slot * maxAttempts;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            failureTimes.set(offset + attempt, 0);
+        }
+    }
+
+    private int now() {
+        // seconds since construction, offset by one so that zero always means "no failure"
+        return (int) ((clock.getAsLong() - epochMillis) / 1000) + 1;
+    }
+
+    private int index(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    private static long fingerprint(String key) {
+        long fingerprint = Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong();
+        return fingerprint == EMPTY ? 1L : fingerprint;
+    }
+}
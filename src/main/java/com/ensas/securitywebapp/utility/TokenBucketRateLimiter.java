@@ -0,0 +1,77 @@
+package com.ensas.securitywebapp.utility;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public class TokenBucketRateLimiter {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier clock;
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketRateLimiter(int capacity, int tokensPerMinute, long idleTimeoutMillis, long maximumSize) {
+        this(capacity, tokensPerMinute, idleTimeoutMillis, maximumSize, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, int tokensPerMinute, long idleTimeoutMillis, long maximumSize, LongSupplier clock) {
+        this.nanosPerToken = MILLISECONDS.toNanos(60_000) / Math.max(1, tokensPerMinute);
+        this.burstNanos = nanosPerToken * Math.max(1, capacity);
+        this.buckets = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeoutMillis, MILLISECONDS)
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .build();
+        this.clock = clock;
+    }
+
+    /**
+     * Takes one token from the bucket of the given key.
+     * Returns 0 when the request is allowed, otherwise the number of nanoseconds until a token is available.
+     */
+    public long tryAcquire(String key) {
+        // a bucket is stored as the instant at which it will be full again, so it costs a single AtomicLong
+        AtomicLong fullAt = bucket(key);
+        long now = clock.getAsLong();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key) {
+        AtomicLong bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        try {
+            return buckets.get(key, () -> new AtomicLong(Long.MIN_VALUE));
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
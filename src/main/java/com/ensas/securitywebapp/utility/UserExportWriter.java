@@ -0,0 +1,102 @@
+package com.ensas.securitywebapp.utility;
+
+import com.ensas.securitywebapp.domain.UserSummary;
+import com.ensas.securitywebapp.enumeration.ExportFormat;
+import com.ensas.securitywebapp.enumeration.UserExportColumn;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.util.Date;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes one user per line as soon as it is read, so the export holds a single row in memory at a time.
+ */
+public class UserExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Writer writer;
+    private JsonGenerator generator;
+    private List<UserExportColumn> columns;
+
+    public UserExportWriter(OutputStream outputStream, ExportFormat format, List<UserExportColumn> columns, ObjectMapper objectMapper) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8), BUFFER_SIZE);
+        this.columns = columns;
+        if (format == ExportFormat.NDJSON) {
+            // values go through the application ObjectMapper so dates look the same as in /user/list
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        } else {
+            writeCsvHeader();
+        }
+    }
+
+    public void write(UserSummary userSummary) {
+        try {
+            if (generator != null) {
+                writeJson(userSummary);
+            } else {
+                writeCsv(userSummary);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.close();
+        } else {
+            writer.close();
+        }
+    }
+
+    private void writeJson(UserSummary userSummary) throws IOException {
+        generator.writeStartObject();
+        for (UserExportColumn column : columns) {
+            generator.writeObjectField(column.getColumnName(), column.valueOf(userSummary));
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeCsvHeader() throws IOException {
+        for (int index = 0; index < columns.size(); index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(index).getColumnName());
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsv(UserSummary userSummary) throws IOException {
+        for (int index = 0; index < columns.size(); index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(columns.get(index).valueOf(userSummary));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: fields holding a separator, a quote or a line break are quoted, with quotes doubled
+    private void writeCsvValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Date ? ((Date) value).toInstant().toString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
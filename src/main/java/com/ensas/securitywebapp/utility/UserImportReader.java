@@ -0,0 +1,150 @@
+package com.ensas.securitywebapp.utility;
+
+import com.ensas.securitywebapp.domain.UserImportRow;
+import com.ensas.securitywebapp.enumeration.ImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.IMPORT_LINE_CANNOT_BE_PARSED;
+
+/**
+ * Reads an import upload one line at a time, so only the current chunk is ever held in memory.
+ */
+public class UserImportReader {
+
+    private static final Map<String, BiConsumer<UserImportRow, String>> CSV_COLUMNS = new HashMap<>();
+
+    static {
+        CSV_COLUMNS.put("firstname", UserImportRow::setFirstName);
+        CSV_COLUMNS.put("lastname", UserImportRow::setLastName);
+        CSV_COLUMNS.put("username", UserImportRow::setUsername);
+        CSV_COLUMNS.put("email", UserImportRow::setEmail);
+        CSV_COLUMNS.put("role", UserImportRow::setRole);
+        CSV_COLUMNS.put("active", (row, value) -> row.setActive(value.isEmpty() ? null : Boolean.valueOf(value)));
+        CSV_COLUMNS.put("notlocked", (row, value) -> row.setNotLocked(value.isEmpty() ? null : Boolean.valueOf(value)));
+    }
+
+    private BufferedReader reader;
+    private ImportFormat format;
+    private ObjectReader rowReader;
+    private List<BiConsumer<UserImportRow, String>> csvColumns;
+    private long lineNumber;
+
+    public UserImportReader(InputStream inputStream, ImportFormat format, ObjectReader rowReader) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.rowReader = rowReader.forType(UserImportRow.class);
+    }
+
+    /**
+     * Returns up to maximumRows rows; an empty list means the upload has been fully read.
+     */
+    public List<Entry> next(int maximumRows) throws IOException {
+        List<Entry> entries = new ArrayList<>(maximumRows);
+        String line;
+        while (entries.size() < maximumRows && (line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && csvColumns == null) {
+                csvColumns = parseHeader(line);
+                continue;
+            }
+            try {
+                entries.add(new Entry(lineNumber, format == ImportFormat.CSV ? parseCsv(line) : rowReader.readValue(line), null));
+            } catch (JsonProcessingException exception) {
+                // the original message leaves out the source location, which would echo the line back
+                entries.add(new Entry(lineNumber, null, IMPORT_LINE_CANNOT_BE_PARSED + exception.getOriginalMessage()));
+            } catch (IllegalArgumentException exception) {
+                entries.add(new Entry(lineNumber, null, IMPORT_LINE_CANNOT_BE_PARSED + exception.getMessage()));
+            }
+        }
+        return entries;
+    }
+
+    private List<BiConsumer<UserImportRow, String>> parseHeader(String line) {
+        List<BiConsumer<UserImportRow, String>> columns = new ArrayList<>();
+        for (String name : splitCsv(line)) {
+            // unknown columns are skipped, like unknown NDJSON properties
+            columns.add(CSV_COLUMNS.getOrDefault(name.trim().toLowerCase(Locale.ROOT), (row, value) -> { }));
+        }
+        return columns;
+    }
+
+    private UserImportRow parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() > csvColumns.size()) {
+            throw new IllegalArgumentException("expected " + csvColumns.size() + " columns but found " + values.size());
+        }
+        UserImportRow row = new UserImportRow();
+        for (int column = 0; column < values.size(); column++) {
+            csvColumns.get(column).accept(row, values.get(column).trim());
+        }
+        return row;
+    }
+
+    // RFC 4180 fields on a single line: commas separate, double quotes enclose, "" is an escaped quote
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < line.length(); index++) {
+            char character = line.charAt(index);
+            if (quoted) {
+                if (character == '"' && index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                    value.append('"');
+                    index++;
+                } else if (character == '"') {
+                    quoted = false;
+                } else {
+                    value.append(character);
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(character);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    public static final class Entry {
+        private final long line;
+        private final UserImportRow row;
+        private final String error;
+
+        private Entry(long line, UserImportRow row, String error) {
+            this.line = line;
+            this.row = row;
+            this.error = error;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public UserImportRow getRow() {
+            return row;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ensas.securitywebapp.utility;
+
+import com.google.common.base.CharMatcher;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class UserNames {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private UserNames() {
+    }
+
+    // MySQL's default collations ignore case, accents and trailing spaces, so names that compare equal there must map to the same key
+    public static String normalize(String name) {
+        String trimmed = name.trim();
+        if (CharMatcher.ascii().matchesAllOf(trimmed)) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(trimmed, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
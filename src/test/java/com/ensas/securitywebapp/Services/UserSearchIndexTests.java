@@ -0,0 +1,103 @@
+package com.ensas.securitywebapp.Services;
+
+import com.ensas.securitywebapp.domain.User;
+import com.ensas.securitywebapp.domain.UserSummary;
+import com.ensas.securitywebapp.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserSearchIndexTests {
+
+    private UserRepository userRepository;
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userSearchIndex = new UserSearchIndex(userRepository);
+        userSearchIndex.index(user(1, "ada", "Ada", "Lovelace", "ada.lovelace@example.com"));
+        userSearchIndex.index(user(2, "alan", "Alan", "Turing", "alan@example.com"));
+        userSearchIndex.index(user(3, "grace", "Grace", "Hopper", "grace@navy.example"));
+        userSearchIndex.index(user(4, "adam", "Adam", "Lovell", "adam@example.com"));
+    }
+
+    @Test
+    void matchesPrefixesOfAnyField() {
+        assertEquals(List.of(1, 4), ids("ad"));
+        assertEquals(List.of(3), ids("hop"));
+        assertEquals(List.of(3), ids("navy"));
+        assertEquals(List.of(1, 4), ids("LOVEL"));
+    }
+
+    @Test
+    void requiresEveryWordToMatch() {
+        assertEquals(List.of(1, 4), ids("ada love"));
+        assertEquals(List.of(1), ids("ada lovela"));
+        assertEquals(List.of(4), ids("lovell adam"));
+        assertEquals(List.of(), ids("ada turing"));
+    }
+
+    @Test
+    void prefixRangeStopsAtTheLastMatchingToken() {
+        assertEquals(List.of(), ids("adx"));
+        assertEquals(List.of(4), ids("adam"));
+        assertEquals(List.of(1), ids("lovela"));
+    }
+
+    @Test
+    void normalizesCaseAndAccents() {
+        assertEquals(List.of(2), ids("Alán"));
+        assertEquals(List.of(2), ids("  TURING, "));
+    }
+
+    @Test
+    void respectsTheLimitAndIgnoresBlankQueries() {
+        assertEquals(1, userSearchIndex.search("example", 1).size());
+        assertTrue(userSearchIndex.search("  ", 10).isEmpty());
+        assertTrue(userSearchIndex.search(null, 10).isEmpty());
+    }
+
+    @Test
+    void reindexingReplacesOldTokensAndRemoveDropsTheUser() {
+        userSearchIndex.index(user(2, "alan", "Alan", "Kay", "alan@example.com"));
+        assertEquals(List.of(), ids("turing"));
+        assertEquals(List.of(2), ids("kay"));
+        userSearchIndex.remove(2);
+        assertEquals(List.of(), ids("alan"));
+        assertEquals(3, userSearchIndex.size());
+    }
+
+    @Test
+    void rebuildReplacesTheIndexWithTheTable() {
+        when(userRepository.streamAllSummaries()).thenReturn(Stream.of(
+                UserSummary.of(user(2, "alan", "Alan", "Turing", "alan@example.com")),
+                UserSummary.of(user(5, "edsger", "Edsger", "Dijkstra", "edsger@example.com"))));
+        userSearchIndex.build();
+        assertEquals(2, userSearchIndex.size());
+        assertEquals(List.of(), ids("ada"));
+        assertEquals(List.of(5), ids("dijk"));
+    }
+
+    private List<Integer> ids(String query) {
+        return userSearchIndex.search(query, 10).stream().map(UserSummary::getId).sorted().collect(Collectors.toList());
+    }
+
+    private User user(int id, String username, String firstName, String lastName, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setCode_employee(String.valueOf(1000 + id));
+        return user;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ensas.securitywebapp.enumeration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionTests {
+
+    @Test
+    void everyMaskRoundTrips() {
+        for (int mask = 0; mask <= Permission.ALL_PERMISSIONS_MASK; mask++) {
+            assertEquals(mask, Permission.toMask(Permission.toAuthorities(mask)));
+        }
+    }
+
+    @Test
+    void roleAuthoritiesRoundTripToTheSharedArray() {
+        for (Role role : Role.values()) {
+            String[] authorities = Permission.toAuthorities(role.getPermissionMask());
+            assertArrayEquals(role.getAuthorities(), authorities);
+            assertSame(authorities, Permission.toAuthorities(Permission.toMask(role.getAuthorities())));
+        }
+    }
+
+    @Test
+    void maskIgnoresOrderAndDuplicates() {
+        int mask = Permission.toMask(new String[]{"user:delete", "user:read", "user:read"});
+        assertEquals(Permission.USER_READ.getMask() | Permission.USER_DELETE.getMask(), mask);
+        assertArrayEquals(new String[]{"user:read", "user:delete"}, Permission.toAuthorities(mask));
+    }
+
+    @Test
+    void emptyAndNullAuthoritiesAreTheEmptyMask() {
+        assertEquals(0, Permission.toMask(null));
+        assertEquals(0, Permission.toMask(new String[0]));
+        assertEquals(0, Permission.toAuthorities(0).length);
+    }
+
+    @Test
+    void rejectsUnknownAuthorities() {
+        assertThrows(IllegalArgumentException.class, () -> Permission.toMask(new String[]{"user:read", "user:impersonate"}));
+        assertThrows(IllegalArgumentException.class, () -> Permission.fromAuthority(null));
+    }
+
+    @Test
+    void rejectsUnknownBits() {
+        assertThrows(IllegalArgumentException.class, () -> Permission.toAuthorities(Permission.ALL_PERMISSIONS_MASK + 1));
+        assertThrows(IllegalArgumentException.class, () -> Permission.toAuthorities(1 << 30));
+        assertThrows(IllegalArgumentException.class, () -> Permission.toAuthorities(-1));
+    }
+}
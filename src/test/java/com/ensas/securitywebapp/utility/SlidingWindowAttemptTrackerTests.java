@@ -0,0 +1,78 @@
+package com.ensas.securitywebapp.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowAttemptTrackerTests {
+
+    private static final long WINDOW = TimeUnit.MINUTES.toMillis(15);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void exceedsAfterMaxAttemptsInsideWindow() {
+        SlidingWindowAttemptTracker tracker = new SlidingWindowAttemptTracker(1024, 5, WINDOW, clock::get);
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure("bob");
+        }
+        assertFalse(tracker.hasExceeded("bob"));
+        tracker.recordFailure("bob");
+        assertTrue(tracker.hasExceeded("bob"));
+        assertFalse(tracker.hasExceeded("alice"));
+    }
+
+    @Test
+    void failuresSlideOutOfWindow() {
+        SlidingWindowAttemptTracker tracker = new SlidingWindowAttemptTracker(1024, 5, WINDOW, clock::get);
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure("bob");
+        }
+        clock.addAndGet(WINDOW - 60_000);
+        tracker.recordFailure("bob");
+        assertTrue(tracker.hasExceeded("bob"));
+        clock.addAndGet(120_000);
+        assertFalse(tracker.hasExceeded("bob"));
+        assertEquals(1, tracker.getFailures("bob"));
+    }
+
+    @Test
+    void resetClearsFailures() {
+        SlidingWindowAttemptTracker tracker = new SlidingWindowAttemptTracker(1024, 5, WINDOW, clock::get);
+        for (int i = 0; i < 5; i++) {
+            tracker.recordFailure("bob");
+        }
+        tracker.reset("bob");
+        assertFalse(tracker.hasExceeded("bob"));
+        assertEquals(0, tracker.getFailures("bob"));
+    }
+
+    @Test
+    void keepsKeysCloseToLockoutWhenFull() {
+        SlidingWindowAttemptTracker tracker = new SlidingWindowAttemptTracker(16, 5, WINDOW, clock::get);
+        for (int i = 0; i < 5; i++) {
+            tracker.recordFailure("target");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            tracker.recordFailure("spray-" + i);
+        }
+        assertTrue(tracker.hasExceeded("target"));
+    }
+
+    @Test
+    void concurrentFailuresAreNotLost() throws InterruptedException {
+        SlidingWindowAttemptTracker tracker = new SlidingWindowAttemptTracker(1024, 5, WINDOW, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> tracker.recordFailure("bob"));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(tracker.hasExceeded("bob"));
+    }
+}
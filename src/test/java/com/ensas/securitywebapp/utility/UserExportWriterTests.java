@@ -0,0 +1,69 @@
+package com.ensas.securitywebapp.utility;
+
+import com.ensas.securitywebapp.domain.UserSummary;
+import com.ensas.securitywebapp.enumeration.ExportFormat;
+import com.ensas.securitywebapp.enumeration.UserExportColumn;
+import com.ensas.securitywebapp.exceptions.domain.InvalidExportRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserExportWriterTests {
+
+    @Test
+    void writesHeaderAndPlainValues() throws Exception {
+        String csv = writeCsv("id,username,joinDate,active,profileImageUrl", summary("Ada", "Lovelace"));
+        assertEquals("id,username,joinDate,active,profileImageUrl\r\n7,ada,1970-01-01T00:00:01Z,true,\r\n", csv);
+    }
+
+    @Test
+    void quotesValuesWithSeparatorsQuotesAndLineBreaks() throws Exception {
+        assertEquals("\"Ada, Countess\"", csvValue("Ada, Countess"));
+        assertEquals("\"Love\"\"lace\"\"\"", csvValue("Love\"lace\""));
+        assertEquals("\"two\nlines\"", csvValue("two\nlines"));
+        assertEquals("\"carriage\rreturn\"", csvValue("carriage\rreturn"));
+        assertEquals("O'Brien", csvValue("O'Brien"));
+    }
+
+    @Test
+    void writesOneJsonObjectPerLineWithTheSelectedColumns() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (UserExportWriter writer = new UserExportWriter(output, ExportFormat.NDJSON, UserExportColumn.parse("lastName,id"), new ObjectMapper())) {
+            writer.write(summary("Ada", "Love\"lace"));
+            writer.write(summary("Ada", "Byron"));
+        }
+        assertEquals("{\"lastName\":\"Love\\\"lace\",\"id\":7}\n{\"lastName\":\"Byron\",\"id\":7}\n", output.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    void parsesColumnsInRequestedOrderWithoutDuplicates() throws InvalidExportRequestException {
+        assertEquals(List.of(UserExportColumn.EMAIL, UserExportColumn.ID), UserExportColumn.parse(" Email ,id,EMAIL"));
+        assertEquals(UserExportColumn.values().length, UserExportColumn.parse(null).size());
+        assertThrows(InvalidExportRequestException.class, () -> UserExportColumn.parse("id,password"));
+    }
+
+    private String csvValue(String lastName) throws Exception {
+        String csv = writeCsv("lastName", summary("Ada", lastName));
+        return csv.substring("lastName\r\n".length(), csv.length() - 2);
+    }
+
+    private String writeCsv(String columns, UserSummary userSummary) throws InvalidExportRequestException, IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (UserExportWriter writer = new UserExportWriter(output, ExportFormat.CSV, UserExportColumn.parse(columns), new ObjectMapper())) {
+            writer.write(userSummary);
+        }
+        return output.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private UserSummary summary(String firstName, String lastName) {
+        return new UserSummary(7, "0000000007", firstName, lastName, "ada", "ada@example.com", null, "ROLE_USER",
+                new Date(1000), null, true, true);
+    }
+}
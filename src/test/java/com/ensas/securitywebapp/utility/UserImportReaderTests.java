@@ -0,0 +1,99 @@
+package com.ensas.securitywebapp.utility;
+
+import com.ensas.securitywebapp.domain.UserImportRow;
+import com.ensas.securitywebapp.enumeration.ImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.ensas.securitywebapp.constant.UserImplementationConstant.IMPORT_LINE_CANNOT_BE_PARSED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportReaderTests {
+
+    private static final String HEADER = "firstName,lastName,username,email,role\n";
+
+    @Test
+    void readsPlainCsvFields() throws IOException {
+        UserImportRow row = readOne(HEADER + "Ada,Lovelace,ada,ada@example.com,ROLE_ADMIN\n");
+        assertEquals("Ada", row.getFirstName());
+        assertEquals("Lovelace", row.getLastName());
+        assertEquals("ada", row.getUsername());
+        assertEquals("ada@example.com", row.getEmail());
+        assertEquals("ROLE_ADMIN", row.getRole());
+    }
+
+    @Test
+    void readsQuotedFieldsWithSeparatorsAndEscapedQuotes() throws IOException {
+        UserImportRow row = readOne(HEADER + "\"Ada, Countess\",\"Love\"\"lace\"\"\",ada,\"\",ROLE_USER\n");
+        assertEquals("Ada, Countess", row.getFirstName());
+        assertEquals("Love\"lace\"", row.getLastName());
+        assertEquals("", row.getEmail());
+    }
+
+    @Test
+    void matchesHeaderCaseInsensitivelyAndSkipsUnknownColumns() throws IOException {
+        UserImportRow row = readOne("USERNAME,badge,Active,NotLocked\nada,42,false,\n");
+        assertEquals("ada", row.getUsername());
+        assertFalse(row.getActive());
+        assertNull(row.getNotLocked());
+    }
+
+    @Test
+    void reportsUnterminatedQuoteAndKeepsReading() throws IOException {
+        List<UserImportReader.Entry> entries = read(HEADER + "\"Ada,Lovelace,ada,ada@example.com,ROLE_USER\nAlan,Turing,alan,alan@example.com,\n");
+        assertEquals(2, entries.size());
+        assertNull(entries.get(0).getRow());
+        assertTrue(entries.get(0).getError().startsWith(IMPORT_LINE_CANNOT_BE_PARSED));
+        assertEquals("alan", entries.get(1).getRow().getUsername());
+    }
+
+    @Test
+    void reportsRowsWithMoreColumnsThanTheHeader() throws IOException {
+        List<UserImportReader.Entry> entries = read(HEADER + "Ada,Lovelace,ada,ada@example.com,ROLE_USER,extra\n");
+        assertNotNull(entries.get(0).getError());
+    }
+
+    @Test
+    void numbersLinesOfTheUploadAndSkipsBlankLines() throws IOException {
+        List<UserImportReader.Entry> entries = read(HEADER + "\nAda,Lovelace,ada,ada@example.com,\n   \nAlan,Turing,alan,alan@example.com,\n");
+        assertEquals(3, entries.get(0).getLine());
+        assertEquals(5, entries.get(1).getLine());
+    }
+
+    @Test
+    void readsInChunksUntilTheUploadIsExhausted() throws IOException {
+        UserImportReader reader = reader(HEADER + "a,a,a,a@x,\nb,b,b,b@x,\nc,c,c,c@x,\n", ImportFormat.CSV);
+        assertEquals(2, reader.next(2).size());
+        assertEquals(1, reader.next(2).size());
+        assertTrue(reader.next(2).isEmpty());
+    }
+
+    @Test
+    void readsNdjsonAndReportsMalformedLines() throws IOException {
+        UserImportReader reader = reader("{\"username\":\"ada\",\"notLocked\":false,\"unknown\":1}\n{\"username\":\n", ImportFormat.NDJSON);
+        List<UserImportReader.Entry> entries = reader.next(10);
+        assertEquals("ada", entries.get(0).getRow().getUsername());
+        assertFalse(entries.get(0).getRow().getNotLocked());
+        assertTrue(entries.get(1).getError().startsWith(IMPORT_LINE_CANNOT_BE_PARSED));
+    }
+
+    private UserImportRow readOne(String csv) throws IOException {
+        List<UserImportReader.Entry> entries = read(csv);
+        assertEquals(1, entries.size());
+        assertNull(entries.get(0).getError());
+        return entries.get(0).getRow();
+    }
+
+    private List<UserImportReader.Entry> read(String csv) throws IOException {
+        return reader(csv, ImportFormat.CSV).next(100);
+    }
+
+    private UserImportReader reader(String content, ImportFormat format) {
+        return new UserImportReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper().reader());
+    }
+}